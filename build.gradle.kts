@@ -2,6 +2,9 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.3"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
+    // processAot(Spring AOT) 태스크만 추가, JVM 에서 -Dspring.aot.enabled=true 로 사용
+    id("org.springframework.boot.aot")
 }
 
 group = "com"
@@ -28,9 +31,20 @@ dependencies {
 
     implementation("org.springframework.boot:spring-boot-starter-web")
 
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     runtimeOnly("com.h2database:h2")
 
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("org.ehcache:ehcache") {
+        capabilities {
+            requireCapability("org.ehcache:ehcache-jakarta")
+        }
+    }
+
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
@@ -45,3 +59,66 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// ./gradlew jmh, 결과는 릴리스 간 비교를 위해 JSON 으로 남긴다.
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+// 빠른 시작 모드: Spring AOT 로 미리 만든 빈 정의 + 학습 실행으로 만든 CDS 아카이브
+// ./gradlew cdsArchive 후
+// java -XX:SharedArchiveFile=build/cds/application.jsa -Dspring.aot.enabled=true -jar build/cds/back-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod
+// AOT 처리는 prod 프로필로 하므로 조건부 빈 구성(custom.shard.count, custom.datasource.replica.enabled 등)은 빌드 때 고정된다.
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    args("--spring.profiles.active=prod")
+}
+
+val cdsDir = layout.buildDirectory.dir("cds")
+val cdsJavaLauncher = javaToolchains.launcherFor {
+    languageVersion = java.toolchain.languageVersion
+}
+
+// bootJar 를 CDS 가 쓸 수 있는 구조(애플리케이션 jar + lib/)로 푼다.
+val extractBootJar by tasks.registering(Exec::class) {
+    group = "build"
+    val bootJar = tasks.bootJar.flatMap { it.archiveFile }
+    inputs.file(bootJar)
+    outputs.dir(cdsDir)
+
+    doFirst {
+        delete(cdsDir)
+        commandLine(
+            cdsJavaLauncher.get().executablePath.asFile.path,
+            "-Djarmode=tools",
+            "-jar", bootJar.get().asFile.path,
+            "extract", "--destination", cdsDir.get().asFile.path,
+        )
+    }
+}
+
+// 학습 실행: 컨텍스트 갱신까지만 하고 종료하면서, 그동안 로드한 클래스를 CDS 아카이브로 남긴다.
+// 요청을 받거나 ApplicationRunner 를 실행하지 않으므로 DB 에 쓰지 않는다.
+val cdsArchive by tasks.registering(Exec::class) {
+    group = "build"
+    dependsOn(extractBootJar)
+    val jar = cdsDir.zip(tasks.bootJar.flatMap { it.archiveFileName }) { dir, name -> dir.file(name) }
+    val archive = cdsDir.map { it.file("application.jsa") }
+    outputs.file(archive)
+
+    doFirst {
+        commandLine(
+            cdsJavaLauncher.get().executablePath.asFile.path,
+            "-XX:ArchiveClassesAtExit=${archive.get().asFile.path}",
+            "-Dspring.context.exit=onRefresh",
+            "-Dspring.aot.enabled=true",
+            "-jar", jar.get().asFile.path,
+            "--spring.profiles.active=prod",
+            "--server.port=0",
+        )
+    }
+}
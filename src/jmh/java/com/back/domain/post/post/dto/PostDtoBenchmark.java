@@ -0,0 +1,62 @@
+package com.back.domain.post.post.dto;
+
+import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.postComment.dto.PostCommentDto;
+import com.back.domain.post.postComment.entity.PostComment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.back.global.jpa.entity.BaseEntityFixtures.persisted;
+
+// 응답 DTO 생성과 Jackson 직렬화 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostDtoBenchmark {
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private Post post;
+    private PostComment postComment;
+    private PostDto postDto;
+    private List<PostDto> postDtos;
+
+    @Setup
+    public void setup() {
+        post = persisted(new Post("제목", "내용 ".repeat(200)), 1);
+        postComment = persisted(post.addComment("댓글"), 1);
+        postDto = new PostDto(post);
+        postDtos = IntStream.rangeClosed(1, 30)
+                .mapToObj(id -> new PostDto(persisted(new Post("제목 " + id, "내용 " + id), id)))
+                .toList();
+    }
+
+    @Benchmark
+    public PostDto newPostDto() {
+        return new PostDto(post);
+    }
+
+    @Benchmark
+    public PostCommentDto newPostCommentDto() {
+        return new PostCommentDto(postComment);
+    }
+
+    @Benchmark
+    public byte[] serializePostDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postDto);
+    }
+
+    @Benchmark
+    public byte[] serializePostDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postDtos);
+    }
+}
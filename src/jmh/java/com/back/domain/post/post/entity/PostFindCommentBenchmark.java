@@ -0,0 +1,34 @@
+package com.back.domain.post.post.entity;
+
+import com.back.domain.post.postComment.entity.PostComment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.back.global.jpa.entity.BaseEntityFixtures.persisted;
+
+// 댓글 컬렉션을 선형 탐색하는 Post.findCommentById 의 댓글 수에 따른 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostFindCommentBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int commentsCount;
+
+    private Post post;
+
+    @Setup
+    public void setup() {
+        post = persisted(new Post("제목", "내용"), 1);
+
+        for (int id = 1; id <= commentsCount; id++) {
+            persisted(post.addComment("댓글 " + id), id);
+        }
+    }
+
+    @Benchmark
+    public Optional<PostComment> findLastComment() {
+        return post.findCommentById(commentsCount);
+    }
+}
@@ -0,0 +1,94 @@
+package com.back.global.dataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// 커넥션 풀(10개)보다 훨씬 많은 요청이 한꺼번에 몰릴 때 요청 묶음 하나를 처리하는 시간.
+// 가상 스레드/플랫폼 스레드(톰캣 기본 200개) x 제한 있음/없음 을 비교한다, 제한을 기본으로 켤지는 이 결과를 보고 정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConnectionLimitingDataSourceBenchmark {
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"virtual", "platform"})
+    public String threads;
+
+    @Param({"false", "true"})
+    public boolean limited;
+
+    // 한꺼번에 몰리는 요청 수
+    @Param({"1000"})
+    public int requests;
+
+    // 커넥션을 잡고 있는 시간(쿼리 + 네트워크 왕복을 흉내)
+    @Param({"1"})
+    public int holdMillis;
+
+    private HikariDataSource hikariDataSource;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:connection_limit_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(30_000);
+
+        hikariDataSource = new HikariDataSource(config);
+        dataSource = limited
+                ? new ConnectionLimitingDataSource(hikariDataSource, POOL_SIZE, Duration.ofSeconds(30))
+                : hikariDataSource;
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+        hikariDataSource.close();
+    }
+
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(requests);
+
+        for (int i = 0; i < requests; i++) futures.add(executor.submit(this::query));
+
+        long sum = 0;
+
+        for (Future<Long> future : futures) sum += future.get();
+
+        return sum;
+    }
+
+    private long query() throws Exception {
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("select 1")
+        ) {
+            resultSet.next();
+            Thread.sleep(holdMillis);
+
+            return resultSet.getLong(1);
+        }
+    }
+}
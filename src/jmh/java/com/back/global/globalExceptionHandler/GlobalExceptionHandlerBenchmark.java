@@ -0,0 +1,58 @@
+package com.back.global.globalExceptionHandler;
+
+import com.back.global.rsData.RsData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+// 검증 실패 메시지 조립 등 예외 응답을 만드는 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+    private NoSuchElementException noSuchElementException;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "reqBody");
+        bindingResult.addError(fieldError("title", "NotBlank", "must not be blank"));
+        bindingResult.addError(fieldError("title", "Size", "size must be between 2 and 100"));
+        bindingResult.addError(fieldError("content", "NotBlank", "must not be blank"));
+        bindingResult.addError(fieldError("content", "Size", "size must be between 2 and 5000"));
+
+        MethodParameter methodParameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", Object.class),
+                0
+        );
+
+        methodArgumentNotValidException = new MethodArgumentNotValidException(methodParameter, bindingResult);
+        noSuchElementException = new NoSuchElementException();
+    }
+
+    @Benchmark
+    public ResponseEntity<RsData<Void>> handleMethodArgumentNotValid() {
+        return globalExceptionHandler.handle(methodArgumentNotValidException);
+    }
+
+    @Benchmark
+    public ResponseEntity<RsData<Void>> handleNoSuchElement() {
+        return globalExceptionHandler.handle(noSuchElementException);
+    }
+
+    @SuppressWarnings("unused")
+    private void target(Object reqBody) {
+    }
+
+    private static FieldError fieldError(String field, String code, String message) {
+        return new FieldError("reqBody", field, "", false, new String[]{code}, null, message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.back.global.jpa.entity;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+
+// 벤치마크용 엔티티에 DB 가 채워주는 값(id, 생성일, 수정일)을 직접 넣는다.
+public class BaseEntityFixtures {
+    private BaseEntityFixtures() {
+    }
+
+    public static <T extends BaseEntity> T persisted(T entity, int id) {
+        LocalDateTime now = LocalDateTime.now();
+
+        set(entity, "id", id);
+        set(entity, "createDate", now);
+        set(entity, "modifyDate", now);
+
+        return entity;
+    }
+
+    private static void set(BaseEntity entity, String name, Object value) {
+        try {
+            Field field = BaseEntity.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(entity, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
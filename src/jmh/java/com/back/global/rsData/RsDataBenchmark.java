@@ -0,0 +1,30 @@
+package com.back.global.rsData;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 모든 응답마다 만들어지는 RsData 의 생성 비용(resultCode 에서 statusCode 추출 포함)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RsDataBenchmark {
+    @Param({"200-1", "201-1", "404-1"})
+    public String resultCode;
+
+    @Benchmark
+    public RsData<Void> newRsData() {
+        return new RsData<>(resultCode, "메시지");
+    }
+
+    // 비교 기준, 이전 RsData 가 매번 하던 split + parseInt
+    @Benchmark
+    public int statusCodeBySplit() {
+        return Integer.parseInt(resultCode.split("-", 2)[0]);
+    }
+
+    @Benchmark
+    public int statusCodeOf() {
+        return RsData.statusCodeOf(resultCode);
+    }
+}
@@ -2,14 +2,22 @@ package com.back;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class BackApplication {
+    // 시작 단계(빈 생성, 컨텍스트 갱신 등)를 기록할 최대 개수, 넘치면 이후 단계는 버려진다.
+    private static final int STARTUP_STEPS_CAPACITY = 10_000;
 
     public static void main(String[] args) {
-        SpringApplication.run(BackApplication.class, args);
+        SpringApplication application = new SpringApplication(BackApplication.class);
+        // 단계별 소요 시간은 StartupTimingReporter 의 로그와 /actuator/startup 으로 확인
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
     }
 
 }
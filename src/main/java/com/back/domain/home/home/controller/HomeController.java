@@ -40,7 +40,7 @@ public class HomeController {
                   .then(response => response.json())
                   .then(data => {
                     console.log(data);
-                    console.log(data[1].title);
+                    console.log(data.items[1].title);
                   });
                 
                 fetch("/api/v1/posts/1")
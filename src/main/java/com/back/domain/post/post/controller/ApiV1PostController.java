@@ -1,56 +1,394 @@
 package com.back.domain.post.post.controller;
 
 import com.back.domain.post.post.dto.PostDto;
+import com.back.domain.post.post.dto.PostWithCommentsDto;
 import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.post.service.PostListCache;
 import com.back.domain.post.post.service.PostService;
+import com.back.domain.post.postComment.dto.PostCommentDto;
+import com.back.global.exception.ServiceException;
+import com.back.global.httpCache.EntityTags;
+import com.back.global.jpa.entity.BaseEntity;
+import com.back.global.pagination.CursorPageDto;
 import com.back.global.rsData.RsData;
+import com.back.global.validation.BulkValidator;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/posts")
 @RequiredArgsConstructor
 @Tag(name = "ApiV1PostController", description = "API 글 컨트롤러")
 public class ApiV1PostController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_COMMENTS_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 10_000;
+    // 가져오기에서 한 번에 메모리에 두고 한 트랜잭션으로 커밋하는 글 수
+    private static final int IMPORT_CHUNK_SIZE = 1_000;
+
     private final PostService postService;
+    private final PostListCache postListCache;
+    private final BulkValidator bulkValidator;
+    private final ObjectMapper objectMapper;
 
     @GetMapping()
     @Transactional(readOnly = true)
-    @Operation(summary = "다건 조회")
-    public List<PostDto> getItems() {
-        List<Post> items = postService.findAll();
+    @Operation(summary = "다건 조회", description = "최신순 커서 페이징, 다음 페이지는 응답의 nextCursor 를 after 로 전달")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PostPageResBody.class)))
+    public ResponseEntity<byte[]> getItems(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "30") int size,
+            WebRequest webRequest
+    ) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        // 캐시에 없을 때만 조회해서 직렬화, 있으면 저장된 바이트를 그대로 쓴다.
+        PostListCache.Page page = postListCache.get(after, pageSize, () -> {
+            // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+            List<Post> items = postService.findPage(after, pageSize + 1);
+
+            // 삭제는 최신 수정일에 드러나지 않으므로 목록은 ETag 로만 판단, 수정일을 바꾸지 않는 조회수도 ETag 에 넣는다
+            return new PostListCache.Page(
+                    EntityTags.of(items, items.stream().mapToLong(Post::getViewsCount).toArray()),
+                    toJson(CursorPageDto.of(items, pageSize, PostDto::new)), //람다식: post -> new PostDto(post)
+                    items.stream().map(Post::getId).collect(Collectors.toSet())
+            );
+        });
+
+        if (webRequest.checkNotModified(page.eTag())) return null;
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page.body());
+    }
+
+    // 문서용, getItems 의 바디는 이 형태로 직렬화된 바이트
+    record PostPageResBody(
+            List<PostDto> items,
+            Integer nextCursor
+    ) {
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping(params = "fields")
+    @Transactional(readOnly = true)
+    @Operation(summary = "다건 조회(필드 선택)", description = "fields 에 쉼표로 나열한 필드만 조회, id 는 항상 포함")
+    public CursorPageDto<Map<String, Object>> getItemsWithFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "30") int size
+    ) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        return CursorPageDto.ofFields(postService.findPageFields(fields, after, pageSize + 1), pageSize);
+    }
+
+    record PostSearchResBody(
+            long totalCount,
+            int page,
+            int size,
+            List<PostDto> items
+    ) {
+    }
+
+    @GetMapping("/search")
+    @Transactional(readOnly = true)
+    @Operation(summary = "검색", description = "제목과 내용에 검색어의 모든 단어가 포함된 글을 관련도순으로 조회")
+    public PostSearchResBody search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 1);
+
+        Page<Post> items = postService.search(q, PageRequest.of(pageNumber - 1, pageSize));
+
+        return new PostSearchResBody(
+                items.getTotalElements(),
+                pageNumber,
+                pageSize,
+                items.map(PostDto::new).getContent()
+        );
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    @Operation(summary = "내보내기", description = "전체 글을 댓글과 함께 id 순으로 한 줄에 하나씩 JSON 으로 응답, 데이터 양과 무관하게 메모리 사용량 일정")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        // 응답 버퍼가 차는 대로 클라이언트에게 전송되므로 전체 결과를 모아두지 않는다
+        ServletOutputStream out = response.getOutputStream();
 
-        return items
-                .stream()
-                .map(PostDto::new) //람다식: post -> new PostDto(post)
-                .toList();
+        postService.forEachWithComments((post, comments) -> {
+            try {
+                writeLine(out, new PostWithCommentsDto(post, comments));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        out.flush();
+    }
+
+    record PostImportCommentReqLine(
+            @NotBlank
+            @Size(min = 2, max = 100)
+            String content
+    ) {
+    }
+
+    // 내보내기 한 줄과 같은 형식, id 등 나머지 필드는 무시
+    record PostImportReqLine(
+            @NotBlank
+            @Size(min = 2, max = 100)
+            String title,
+            @NotBlank
+            @Size(min = 2, max = 5000)
+            String content,
+            List<@NotNull @Valid PostImportCommentReqLine> comments
+    ) {
+    }
+
+    record PostImportErrorResLine(
+            String type,
+            int line,
+            String msg
+    ) {
+        PostImportErrorResLine(int line, String msg) {
+            this("error", line, msg);
+        }
+    }
+
+    record PostImportProgressResLine(
+            String type,
+            int line,
+            int importedCount,
+            int errorCount
+    ) {
+    }
+
+    // 트랜잭션은 컨트롤러가 아니라 청크마다 PostService.writeChunk 에서 열고 커밋한다
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "가져오기", description = "한 줄에 글 하나(댓글 포함)씩 읽어 청크 단위로 저장, 진행 상황과 줄별 오류를 한 줄씩 응답")
+    public void importItems(
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        ServletOutputStream out = response.getOutputStream();
+        ObjectReader lineReader = objectMapper.readerFor(PostImportReqLine.class);
+
+        List<Post> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        int lineNumber = 0;
+        int importedCount = 0;
+        int errorCount = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) continue;
+
+                String errorMsg;
+
+                try {
+                    PostImportReqLine reqLine = lineReader.readValue(line);
+                    errorMsg = bulkValidator.validate(reqLine);
+
+                    if (errorMsg == null) chunk.add(toPost(reqLine));
+                } catch (JsonProcessingException e) {
+                    errorMsg = "JSON 형식이 올바르지 않습니다. " + e.getOriginalMessage();
+                }
+
+                if (errorMsg != null) {
+                    errorCount++;
+                    writeLine(out, new PostImportErrorResLine(lineNumber, errorMsg));
+                }
+
+                if (chunk.size() < IMPORT_CHUNK_SIZE) continue;
+
+                if (!importChunk(out, chunk, lineNumber)) return;
+
+                importedCount += chunk.size();
+                chunk.clear();
+
+                writeLine(out, new PostImportProgressResLine("progress", lineNumber, importedCount, errorCount));
+                out.flush();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            if (!importChunk(out, chunk, lineNumber)) return;
+
+            importedCount += chunk.size();
+        }
+
+        writeLine(out, new PostImportProgressResLine("done", lineNumber, importedCount, errorCount));
+        out.flush();
+    }
+
+    private Post toPost(PostImportReqLine reqLine) {
+        Post post = new Post(reqLine.title, reqLine.content);
+
+        if (reqLine.comments != null)
+            reqLine.comments.forEach(comment -> post.addComment(comment.content));
+
+        return post;
+    }
+
+    // 저장에 실패하면 해당 청크는 롤백되고, 이미 커밋된 앞선 청크는 유지한 채 가져오기를 멈춘다
+    private boolean importChunk(ServletOutputStream out, List<Post> chunk, int lineNumber) throws IOException {
+        try {
+            postService.writeChunk(chunk);
+
+            return true;
+        } catch (DataAccessException e) {
+            writeLine(out, new PostImportErrorResLine(lineNumber, "%d번째 줄까지의 %d건을 저장하지 못해 가져오기를 중단합니다.".formatted(lineNumber, chunk.size())));
+            out.flush();
+
+            return false;
+        }
+    }
+
+    private void writeLine(ServletOutputStream out, Object line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
     }
 
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
     @Operation(summary = "단건 조회")
-    public PostDto getItem(@PathVariable int id) {
+    public PostDto getItem(
+            @PathVariable int id,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) {
         Post post = postService.findById(id).get();
 
-        return new PostDto(post);
+        // 이번 조회를 더하기 전의 조회수로 비교해서, 그 사이 다른 조회나 변경이 없었으면 304
+        long previousViewsCount = postService.getViewsCount(post);
+        postService.increaseViewsCount(post);
+
+        // 댓글 수, 조회수는 version 에 잡히지 않으므로 ETag 에 따로 넣는다
+        if (webRequest.checkNotModified(
+                EntityTags.of(post, post.getCommentsCount(), previousViewsCount),
+                EntityTags.lastModified(post)
+        )) return null;
+
+        // 응답에는 이번 조회까지 더한 조회수가 담기므로 ETag 도 그 값으로 다시 만든다
+        long viewsCount = postService.getViewsCount(post);
+        response.setHeader(HttpHeaders.ETAG, EntityTags.of(post, post.getCommentsCount(), viewsCount));
+
+        return new PostDto(post, viewsCount);
     }
 
 
+    record PostWithCommentsResBody(
+            @JsonUnwrapped
+            PostDto post,
+            List<PostCommentDto> comments,
+            Integer commentsNextCursor
+    ) {
+    }
+
+    @GetMapping(value = "/{id}", params = "include=comments")
+    @Transactional(readOnly = true)
+    @Operation(summary = "단건 조회(댓글 포함)", description = "글과 오래된순 댓글 최대 commentsSize 건을 한 번에 조회, 나머지 댓글은 commentsNextCursor 를 댓글 다건 조회의 after 로 전달")
+    public PostWithCommentsResBody getItemWithComments(
+            @PathVariable int id,
+            @RequestParam(defaultValue = "30") int commentsSize,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) {
+        int pageSize = Math.clamp(commentsSize, 1, MAX_COMMENTS_SIZE);
+
+        // 다음 댓글 존재 여부를 알기 위해 한 건 더 조회
+        PostService.PostWithComments postWithComments = postService.findWithComments(id, pageSize + 1).get();
+        Post post = postWithComments.post();
+
+        // getItem 과 같이 이번 조회를 더하기 전의 조회수로 비교
+        long previousViewsCount = postService.getViewsCount(post);
+        postService.increaseViewsCount(post);
+
+        List<BaseEntity> entities = new ArrayList<>(postWithComments.comments());
+        entities.add(post);
+
+        if (webRequest.checkNotModified(EntityTags.of(entities, previousViewsCount))) return null;
+
+        long viewsCount = postService.getViewsCount(post);
+        response.setHeader(HttpHeaders.ETAG, EntityTags.of(entities, viewsCount));
+
+        CursorPageDto<PostCommentDto> comments = CursorPageDto.of(postWithComments.comments(), pageSize, PostCommentDto::new);
+
+        return new PostWithCommentsResBody(
+                new PostDto(post, viewsCount),
+                comments.items(),
+                comments.nextCursor()
+        );
+    }
+
     @DeleteMapping("/{id}")
     @Transactional
-    @Operation(summary = "삭제")
-    public RsData<PostDto> delete(@PathVariable int id) {
+    @Operation(summary = "삭제", description = "If-Match 에 조회 때 받은 ETag 를 보내면 그 사이 글이 바뀐 경우 412")
+    public RsData<PostDto> delete(
+            @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
         Post post = postService.findById(id).get();
 
+        checkIfMatch(ifMatch, post);
+
         postService.delete(post);
+        postService.flush(); // 버전 충돌이면 응답 전에 409
 
         return new RsData<>(
                 "200-1",
@@ -79,13 +417,46 @@ public class ApiV1PostController {
     @PostMapping
     @Transactional
     @Operation(summary = "작성")
-    public RsData<PostDto> write(@Valid @RequestBody ApiV1PostController.PostWriteReqBody reqBody) {
+    public RsData<PostWriteResBody> write(@Valid @RequestBody ApiV1PostController.PostWriteReqBody reqBody) {
         Post post = postService.write(reqBody.title, reqBody.content);
 
         return new RsData<>(
                 "201-1",
                 "%d번 글이 작성되었습니다.".formatted(post.getId()),
-                new PostDto(post)
+                new PostWriteResBody(
+                        postService.count(),
+                        new PostDto(post)
+                )
+        );
+    }
+
+
+    record PostBulkWriteResBody(
+            long totalCount,
+            List<Integer> ids
+    ) {
+    }
+
+    @PostMapping("/bulk")
+    @Transactional
+    @Operation(summary = "일괄 작성", description = "항목 중 하나라도 올바르지 않으면 아무것도 저장하지 않고 항목별 검증 결과를 응답")
+    public RsData<PostBulkWriteResBody> bulkWrite(@RequestBody List<PostWriteReqBody> reqBody) {
+        bulkValidator.validate(reqBody, MAX_BULK_SIZE);
+
+        List<Post> posts = postService.writeAll(
+                reqBody
+                        .stream()
+                        .map(item -> new Post(item.title, item.content))
+                        .toList()
+        );
+
+        return new RsData<>(
+                "201-1",
+                "%d건의 글이 작성되었습니다.".formatted(posts.size()),
+                new PostBulkWriteResBody(
+                        postService.count(),
+                        posts.stream().map(Post::getId).toList()
+                )
         );
     }
 
@@ -102,17 +473,28 @@ public class ApiV1PostController {
 
     @PutMapping("/{id}")
     @Transactional
-    @Operation(summary = "수정")
+    @Operation(summary = "수정", description = "If-Match 에 조회 때 받은 ETag 를 보내면 그 사이 글이 바뀐 경우 412")
     public RsData<Void> modify(
             @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody PostModifyReqBody reqBody
     ) {
         Post post = postService.findById(id).get();
+
+        checkIfMatch(ifMatch, post);
+
         postService.modify(post, reqBody.title, reqBody.content);
+        postService.flush(); // 버전 충돌이면 응답 전에 409
 
         return new RsData<>(
                 "200-1",
                 "%d번 글이 수정되었습니다.".formatted(post.getId())
         );
     }
+
+    // 클라이언트가 본 상태(ETag)와 현재 상태가 다르면 수정하지 않는다, 확인 이후 커밋 전의 경쟁은 @Version 이 막는다.
+    private void checkIfMatch(String ifMatch, Post post) {
+        if (!EntityTags.matches(ifMatch, post))
+            throw new ServiceException("412-1", "%d번 글이 그 사이 변경되었습니다. 다시 조회한 뒤 시도해주세요.".formatted(post.getId()));
+    }
 }
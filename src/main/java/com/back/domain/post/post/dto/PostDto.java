@@ -9,15 +9,26 @@ public record PostDto(
         LocalDateTime createdDate,
         LocalDateTime modifiedDate,
         String title,
-        String content
+        String content,
+        int commentsCount,
+        long viewsCount,
+        long version
 ) {
     public PostDto(Post post) {
+        this(post, post.getViewsCount());
+    }
+
+    // viewsCount 에 아직 DB 에 반영되지 않은 조회수까지 더해서 보여줄 때
+    public PostDto(Post post, long viewsCount) {
         this(
                 post.getId(),
                 post.getCreateDate(),
                 post.getModifyDate(),
                 post.getTitle(),
-                post.getContent()
+                post.getContent(),
+                post.getCommentsCount(),
+                viewsCount,
+                post.getVersion()
         );
     }
 }
@@ -0,0 +1,9 @@
+package com.back.domain.post.post.dto;
+
+public record PostSearchIndexStatsDto(
+        int documentCount,
+        int termCount,
+        long postingCount,
+        long estimatedBytes
+) {
+}
@@ -0,0 +1,23 @@
+package com.back.domain.post.post.dto;
+
+import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.postComment.dto.PostCommentDto;
+import com.back.domain.post.postComment.entity.PostComment;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+public record PostWithCommentsDto(
+        @JsonUnwrapped PostDto post,
+        List<PostCommentDto> comments
+) {
+    public PostWithCommentsDto(Post post, List<PostComment> comments) {
+        this(
+                new PostDto(post),
+                comments
+                        .stream()
+                        .map(PostCommentDto::new)
+                        .toList()
+        );
+    }
+}
@@ -2,18 +2,27 @@ package com.back.domain.post.post.entity;
 
 import com.back.domain.post.postComment.entity.PostComment;
 import com.back.global.jpa.entity.BaseEntity;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.OneToMany;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.util.*;
 
 import static jakarta.persistence.CascadeType.PERSIST;
 import static jakarta.persistence.CascadeType.REMOVE;
 import static jakarta.persistence.FetchType.LAZY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE)
 @Getter
 @NoArgsConstructor
 public class Post extends BaseEntity {
@@ -21,8 +30,24 @@ public class Post extends BaseEntity {
     private String content;
 
     @OneToMany(mappedBy = "post", fetch = LAZY, cascade = {PERSIST, REMOVE}, orphanRemoval = true)
+    @Cache(usage = READ_WRITE)
+    @OptimisticLock(excluded = true)
     private List<PostComment> comments = new ArrayList<>();
 
+    // 댓글 수를 비정규화해서 유지, 목록 화면에서 댓글 컬렉션을 불러오거나 집계하지 않기 위함
+    // 기존 글의 댓글 수는 PostService 가 PostRepository.addCommentsCount 로 DB 에서 더하고, 엔티티의 값은 INSERT 와 화면 표시용
+    // 원자적 UPDATE 로만 바뀌어 덮어쓸 위험이 없으므로, 댓글 작성/삭제가 글 수정과 버전 충돌을 일으키지 않도록 낙관적 락에서 제외
+    @Column(updatable = false)
+    @ColumnDefault("0")
+    @OptimisticLock(excluded = true)
+    private int commentsCount;
+
+    // 조회수, 조회할 때마다 갱신하지 않고 PostViewCounter 가 모아서 주기적으로 반영한다.
+    // 글을 수정할 때 읽어 둔 예전 값으로 덮어쓰지 않도록 카운터만 쓴다.
+    @Column(insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long viewsCount;
+
     public Post(String title, String content) {
         this.title = title;
         this.content = content;
@@ -36,6 +61,7 @@ public class Post extends BaseEntity {
     public PostComment addComment(String content) {
         PostComment postComment = new PostComment(this, content);
         comments.add(postComment);
+        commentsCount++;
 
         return postComment;
     }
@@ -49,7 +75,12 @@ public class Post extends BaseEntity {
 
     public boolean deleteComment(PostComment postComment) {
         if (postComment == null) return false;
+        if (postComment.getPost().getId() != getId()) return false;
+
+        // 댓글 목록이 이미 로딩된 경우에만 컬렉션에서도 제거, 전체 댓글을 불러오지 않기 위함
+        if (Hibernate.isInitialized(comments)) comments.remove(postComment);
+        commentsCount--;
 
-        return comments.remove(postComment);
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.back.domain.post.post.event;
+
+import com.back.domain.post.post.entity.Post;
+
+// 글이 작성/수정/삭제되었음을 알림, 리스너는 보통 트랜잭션 커밋 후(@TransactionalEventListener)에 처리한다.
+public record PostChangedEvent(
+        Type type,
+        int id,
+        String title,
+        String content
+) {
+    public enum Type {
+        WRITE,
+        MODIFY,
+        DELETE
+    }
+
+    public PostChangedEvent(Type type, Post post) {
+        this(type, post.getId(), post.getTitle(), post.getContent());
+    }
+}
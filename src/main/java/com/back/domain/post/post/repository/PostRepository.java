@@ -1,10 +1,34 @@
 package com.back.domain.post.post.repository;
 
 import com.back.domain.post.post.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PostRepository extends JpaRepository<Post, Integer> {
+import static org.hibernate.jpa.HibernateHints.*;
+
+public interface PostRepository extends JpaRepository<Post, Integer>, PostRepositoryCustom {
     Optional<Post> findFirstByOrderByIdDesc();
-}
\ No newline at end of file
+
+    List<Post> findAllByOrderByIdDesc(Limit limit);
+
+    List<Post> findByIdLessThanOrderByIdDesc(int id, Limit limit);
+
+    // 전체를 한 번에 메모리에 올리지 않고 JDBC fetch size 단위로 읽는다, 2차 캐시는 채우지 않음
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Post> streamAllByOrderByIdAsc();
+
+    // 댓글 행마다 [글, 댓글], 댓글이 없으면 [글, null] 한 행. limit 은 댓글 수에 적용된다.
+    @Query("select p, c from Post p left join PostComment c on c.post = p where p.id = :id order by c.id asc")
+    List<Object[]> findWithComments(int id, Limit limit);
+}
@@ -0,0 +1,12 @@
+package com.back.domain.post.post.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface PostRepositoryCustom {
+    List<Map<String, Object>> findPageFields(String fields, Integer after, int limit);
+
+    void addCommentsCount(int postId, int delta);
+
+    int reconcileCommentsCounts();
+}
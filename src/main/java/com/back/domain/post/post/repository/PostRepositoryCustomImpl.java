@@ -0,0 +1,111 @@
+package com.back.domain.post.post.repository;
+
+import com.back.domain.post.post.entity.Post;
+import com.back.global.jpa.projection.FieldProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+    // 키는 PostDto 의 필드 이름
+    private static final FieldProjection FIELDS = new FieldProjection(Map.of(
+            "id", "p.id",
+            "createdDate", "p.createDate",
+            "modifiedDate", "p.modifyDate",
+            "title", "p.title",
+            "content", "p.content",
+            "commentsCount", "p.commentsCount",
+            "viewsCount", "p.viewsCount",
+            "version", "p.version"
+    ));
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    // findPage 와 같은 최신순 커서 페이징, 요청된 컬럼만 조회
+    @Override
+    public List<Map<String, Object>> findPageFields(String fields, Integer after, int limit) {
+        List<String> names = FIELDS.parse(fields);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select " + FIELDS.select(names)
+                        + " from Post p"
+                        + (after == null ? "" : " where p.id < :after")
+                        + " order by p.id desc",
+                Tuple.class
+        );
+
+        if (after != null) query.setParameter("after", after);
+
+        return FIELDS.toMaps(query.setMaxResults(limit).getResultList(), names);
+    }
+
+    // 읽은 값에 더해서 쓰지 않고 DB 에서 더한다, 동시에 달린 댓글끼리 증감을 덮어쓰지 않는다.
+    // JPQL 벌크 UPDATE 는 2차 캐시의 글 영역을 통째로 비우므로 JDBC 로 실행하고, 트랜잭션이 끝나면 이 글만 캐시에서 비운다.
+    @Override
+    public void addCommentsCount(int postId, int delta) {
+        jdbcTemplate.update(
+                "update post set comments_count = comments_count + ?, modify_date = ? where id = ?",
+                delta,
+                LocalDateTime.now(),
+                postId
+        );
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(postId);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(postId);
+            }
+        });
+    }
+
+    // 실제 댓글 수와 다른 글만 고친다, 몇 건을 고칠지 모르므로 트랜잭션이 끝나면 2차 캐시의 글 영역을 통째로 비운다.
+    @Override
+    public int reconcileCommentsCounts() {
+        int updated = jdbcTemplate.update("""
+                update post p
+                set comments_count = (select count(*) from post_comment c where c.post_id = p.id)
+                where comments_count <> (select count(*) from post_comment c where c.post_id = p.id)
+                """);
+
+        if (updated == 0) return 0;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAll();
+
+            return updated;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evictAll();
+            }
+        });
+
+        return updated;
+    }
+
+    private void evictAll() {
+        entityManager.getEntityManagerFactory().getCache().evict(Post.class);
+    }
+
+    private void evict(int postId) {
+        entityManager.getEntityManagerFactory().getCache().evict(Post.class, postId);
+    }
+}
@@ -0,0 +1,240 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.postComment.entity.PostComment;
+import com.back.global.exception.ServiceException;
+import com.back.global.shard.ShardContext;
+import com.back.global.shard.Shards;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// 댓글 작성을 커밋하는 곳, 요청마다 트랜잭션을 열지 않고 컨트롤러는 이곳을 통해 댓글을 쓴다.
+// group-commit 모드에서는 여러 요청의 댓글을 큐에 모아 최대 maxBatchSize 건 또는 maxWait 마다 한 트랜잭션으로 커밋하고,
+// 커밋이 끝난 뒤 각 요청에 결과를 돌려준다. 같은 글의 댓글 수 UPDATE 와 flush 가 배치당 한 번으로 줄어든다.
+@Component
+public class PostCommentGroupCommitter {
+    private final PostService postService;
+    private final TransactionTemplate transactionTemplate;
+    private final Shards shards;
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long resultTimeoutNanos;
+    private final BlockingQueue<Request> queue;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    private record Request(
+            int postId,
+            String content,
+            CompletableFuture<PostComment> result
+    ) {
+    }
+
+    public PostCommentGroupCommitter(
+            PostService postService,
+            TransactionTemplate transactionTemplate,
+            Shards shards,
+            @Value("${custom.post-comment.group-commit.enabled:false}") boolean enabled,
+            @Value("${custom.post-comment.group-commit.max-batch-size:100}") int maxBatchSize,
+            @Value("${custom.post-comment.group-commit.max-wait:5ms}") Duration maxWait,
+            @Value("${custom.post-comment.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${custom.post-comment.group-commit.result-timeout:10s}") Duration resultTimeout
+    ) {
+        this.postService = postService;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.resultTimeoutNanos = resultTimeout.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        running = true;
+        worker = new Thread(this::run, "post-comment-group-commit");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 정상 종료 시 큐에 남은 요청까지 커밋하고 멈춘다, 워커가 끝난 뒤에 들어온 요청은 실패시킨다.
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) return;
+
+        running = false;
+        worker.interrupt();
+        worker.join();
+
+        rejectQueued();
+    }
+
+    // 커밋된 댓글을 돌려준다, 글이 없으면 NoSuchElementException
+    public PostComment write(int postId, String content) {
+        Request request = new Request(postId, content, new CompletableFuture<>());
+
+        if (!enabled) {
+            ShardContext.run(shards.shardOf(postId), () -> commit(List.of(request)));
+        } else {
+            if (!running || !queue.offer(request)) throw overloaded();
+
+            // offer 와 워커 종료가 겹치면 아무도 꺼내지 않으므로 다시 확인한다.
+            // 큐에서 직접 뺐으면 실패시키고, 이미 빠졌으면 워커나 stop() 이 결과를 채운다.
+            if (!(running && worker.isAlive()) && queue.remove(request)) throw overloaded();
+        }
+
+        try {
+            return request.result.get(resultTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            // 결과를 기다리지 않을 뿐 요청은 큐에 남아 있어서, 나중에 커밋될 수 있다.
+            throw new ServiceException("503-2", "댓글 작성이 지연되고 있습니다. 잠시 후 작성 여부를 확인해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new ServiceException("503-2", "댓글 작성이 지연되고 있습니다. 잠시 후 작성 여부를 확인해주세요.");
+        }
+    }
+
+    private static ServiceException overloaded() {
+        return new ServiceException("503-1", "요청이 많아 댓글을 작성할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private void rejectQueued() {
+        for (Request request; (request = queue.poll()) != null; )
+            request.result.completeExceptionally(overloaded());
+    }
+
+    // 워커가 예외로 죽더라도 새 요청을 막고, 처리 중이던 요청과 큐에 남은 요청을 실패시켜서 기다리는 요청이 남지 않게 한다.
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+
+        try {
+            collectAndCommit(batch);
+        } finally {
+            running = false;
+            batch.forEach(request -> request.result.completeExceptionally(overloaded()));
+            rejectQueued();
+        }
+    }
+
+    private void collectAndCommit(List<Request> batch) {
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = running ? queue.take() : queue.poll();
+
+                if (first == null) break;
+
+                batch.add(first);
+
+                // 첫 요청부터 maxWait 동안 최대 maxBatchSize 건까지 모은다.
+                long deadline = System.nanoTime() + maxWaitNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    Request next = queue.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+
+                    if (next == null) break;
+
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // stop() 이 깨운 경우, 남은 요청은 running 이 false 가 된 채로 마저 처리
+            }
+
+            if (batch.isEmpty()) continue;
+
+            // 한 트랜잭션은 한 샤드에서만 실행되므로 글의 샤드별로 나눠서 커밋
+            batch
+                    .stream()
+                    .collect(Collectors.groupingBy(request -> shards.shardOf(request.postId), TreeMap::new, Collectors.toList()))
+                    .forEach((shard, requests) -> ShardContext.run(shard, () -> commitOrSplit(requests)));
+            batch.clear();
+        }
+    }
+
+    // 배치 트랜잭션이 실패하면 한 건씩 다시 커밋해서, 문제가 된 요청만 실패하게 한다.
+    private void commitOrSplit(List<Request> batch) {
+        try {
+            commit(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.getFirst().result.completeExceptionally(e);
+
+                return;
+            }
+
+            batch.forEach(request -> commitOrSplit(List.of(request)));
+        }
+    }
+
+    private void commit(List<Request> batch) {
+        List<PostComment> postComments = transactionTemplate.execute(status -> {
+            Map<Integer, Post> posts = postService
+                    .findAllByIds(batch.stream().map(Request::postId).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+            // 같은 글의 요청을 모아 writeComments 로 한 번에 써서 댓글 수 UPDATE 를 글마다 한 번으로 줄인다.
+            PostComment[] written = new PostComment[batch.size()];
+
+            IntStream.range(0, batch.size())
+                    .boxed()
+                    .collect(Collectors.groupingBy(i -> batch.get(i).postId, LinkedHashMap::new, Collectors.toList()))
+                    .forEach((postId, indexes) -> {
+                        Post post = posts.get(postId);
+
+                        if (post == null) return;
+
+                        List<PostComment> comments = postService.writeComments(
+                                post,
+                                indexes.stream().map(i -> batch.get(i).content).toList()
+                        );
+
+                        for (int i = 0; i < indexes.size(); i++) written[indexes.get(i)] = comments.get(i);
+                    });
+
+            postService.flush(); // 배치의 INSERT 를 한 번에 실행해서 id 를 확정
+
+            return Arrays.asList(written);
+        });
+
+        // 커밋이 끝난 뒤에 결과를 알린다.
+        for (int i = 0; i < batch.size(); i++) {
+            PostComment postComment = postComments.get(i);
+
+            if (postComment == null) batch.get(i).result.completeExceptionally(new NoSuchElementException());
+            else batch.get(i).result.complete(postComment);
+        }
+    }
+}
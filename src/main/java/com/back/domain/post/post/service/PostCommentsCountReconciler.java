@@ -0,0 +1,39 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.repository.PostRepository;
+import com.back.global.shard.Shards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 댓글 수 컬럼(comments_count)은 ddl-auto 로 추가되면 기존 글이 모두 0 으로 시작하고, 그 상태에서 댓글을 지우면 음수가 된다.
+// 시작할 때 샤드마다 실제 댓글 수와 다른 글을 고친다, 맞춰진 뒤에는 고칠 글이 없어 UPDATE 되는 행이 없다.
+@Component
+@ConditionalOnProperty(name = "custom.post.comments-count.reconcile-on-startup", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostCommentsCountReconciler implements ApplicationRunner {
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Shards shards;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconcile();
+    }
+
+    // 고친 글 수를 돌려준다
+    public int reconcile() {
+        AtomicInteger updated = new AtomicInteger();
+
+        shards.forEachShard(() -> updated.addAndGet(
+                transactionTemplate.execute(status -> postRepository.reconcileCommentsCounts())
+        ));
+
+        return updated.get();
+    }
+}
@@ -0,0 +1,76 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.repository.PostRepository;
+import com.back.global.shard.Shards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 전체 글 수를 메모리에 유지, 매번 count(*) 를 실행하지 않기 위함
+@Component
+@RequiredArgsConstructor
+public class PostCounter {
+    private final PostRepository postRepository;
+    private final Shards shards;
+
+    private final AtomicLong count = new AtomicLong();
+    // 아직 커밋되지 않은 트랜잭션들이 반영한 증감분
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean loaded;
+
+    public long get() {
+        ensureLoaded();
+
+        return count.get();
+    }
+
+    // 현재 트랜잭션이 롤백되면 반영했던 증감분을 되돌린다.
+    public void add(long delta) {
+        ensureLoaded();
+
+        count.addAndGet(delta);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        pending.addAndGet(delta);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pending.addAndGet(-delta);
+
+                if (status != STATUS_COMMITTED) count.addAndGet(-delta);
+            }
+        });
+    }
+
+    // DB 의 실제 글 수와 맞춘다, 샤드가 여럿이면 샤드별 글 수의 합
+    @Scheduled(
+            initialDelayString = "${custom.post.counter.reconcileInterval:PT10M}",
+            fixedDelayString = "${custom.post.counter.reconcileInterval:PT10M}"
+    )
+    public synchronized long reconcile() {
+        long actual = shards
+                .scatter(postRepository::count)
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        count.set(actual + pending.get());
+        loaded = true;
+
+        return actual;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+
+        synchronized (this) {
+            if (!loaded) reconcile();
+        }
+    }
+}
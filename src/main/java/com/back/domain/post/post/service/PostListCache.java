@@ -0,0 +1,137 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.event.PostChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 글 목록(GET /api/v1/posts) 페이지를 이미 직렬화된 UTF-8 JSON 바이트와 ETag 로 보관, 적중하면 조회도 직렬화도 하지 않는다.
+// 목록에 드러나는 값(글, 댓글 수)이 바뀌는 트랜잭션이 끝나면 통째로 비우고, 조회수가 반영되면 그 글이 담긴 페이지만 비운다.
+// 복제 DB 를 쓰면 끈다, 비운 직후 복제 지연으로 낡은 페이지를 읽어 저장할 수 있고 적중하면 read-your-writes 도 건너뛰기 때문이다.
+@Component
+public class PostListCache {
+    private final boolean enabled;
+    private final int maxEntries;
+
+    private final Map<Key, Page> pages = new ConcurrentHashMap<>();
+    // 비울 때마다 증가, 비우기 전에 읽기 시작한 페이지가 비운 뒤에 저장되는 것을 막는다.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+
+    private record Key(Integer after, int size) {
+    }
+
+    // postIds 는 페이지에 담긴 글, 조회수가 반영된 글이 있으면 이 페이지를 비운다.
+    public record Page(String eTag, byte[] body, Set<Integer> postIds) {
+    }
+
+    public PostListCache(
+            MeterRegistry meterRegistry,
+            @Value("${custom.post.list-cache.enabled:true}") boolean enabled,
+            @Value("${custom.post.list-cache.max-entries:1000}") int maxEntries,
+            @Value("${custom.datasource.replica.enabled:false}") boolean replicaEnabled
+    ) {
+        this.enabled = enabled && !replicaEnabled;
+        this.maxEntries = maxEntries;
+
+        // 적중률 = hit / (hit + miss)
+        this.hits = Counter.builder("post.list.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("post.list.cache.requests").tag("result", "miss").register(meterRegistry);
+        // 적중으로 다시 직렬화하지 않고 그대로 내보낸 바이트
+        this.bytesSaved = Counter.builder("post.list.cache.bytes.saved").baseUnit("bytes").register(meterRegistry);
+        meterRegistry.gaugeMapSize("post.list.cache.size", Tags.empty(), pages);
+    }
+
+    // 읽기 전용 트랜잭션에서만 캐시를 쓴다, 쓰기 트랜잭션 안에서 만든 페이지는 커밋되지 않은 변경을 담고 있을 수 있다.
+    public Page get(Integer after, int size, Supplier<Page> loader) {
+        if (!enabled || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return loader.get();
+
+        Key key = new Key(after, size);
+        Page page = pages.get(key);
+
+        if (page != null) {
+            hits.increment();
+            bytesSaved.increment(page.body.length);
+
+            return page;
+        }
+
+        misses.increment();
+
+        long loadedGeneration = generation.get();
+        page = loader.get();
+
+        if (pages.size() < maxEntries) {
+            pages.put(key, page);
+
+            // 읽는 동안 비워졌으면 방금 넣은 페이지는 이미 낡았다.
+            if (generation.get() != loadedGeneration) pages.remove(key, page);
+        }
+
+        return page;
+    }
+
+    // 트랜잭션 안이면 커밋이든 롤백이든 끝난 뒤에 비운다.
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                clear();
+            }
+        });
+    }
+
+    // 조회수처럼 일부 글만 바뀌는 경우, 트랜잭션 안이면 끝난 뒤에 그 글이 담긴 페이지만 비운다.
+    public void invalidate(Collection<Integer> postIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(postIds);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(postIds);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void handle(PostChangedEvent event) {
+        clear();
+    }
+
+    // 읽는 중이던 페이지는 비우기 전의 값을 담고 있을 수 있으므로 generation 을 올려 저장되지 않게 한다.
+    private void evict(Collection<Integer> postIds) {
+        generation.incrementAndGet();
+        pages.values().removeIf(page -> postIds.stream().anyMatch(page.postIds::contains));
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        pages.clear();
+    }
+}
@@ -0,0 +1,206 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.dto.PostSearchIndexStatsDto;
+import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.post.event.PostChangedEvent;
+import com.back.domain.post.post.repository.PostRepository;
+import com.back.global.shard.Shards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 글 제목/내용의 메모리 역색인, 토큰 -> (글 id -> 가중 빈도) 목록을 유지하고 BM25 로 순위를 매긴다.
+// 시작 시 DB 에서 한 번 만들고, 이후에는 글 작성/수정/삭제가 커밋될 때마다 해당 글만 갱신
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final Shards shards;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private long totalLength;
+    private long postingCount;
+
+    private record Document(String[] terms, int length) {
+    }
+
+    private record Hit(int id, double score) {
+    }
+
+    public record SearchResult(int totalCount, List<Integer> ids) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        shards.forEachShard(() -> {
+            List<Post> chunk = postRepository.findAllByOrderByIdDesc(Limit.of(REBUILD_CHUNK_SIZE));
+
+            while (!chunk.isEmpty()) {
+                chunk.forEach(post -> index(post.getId(), post.getTitle(), post.getContent()));
+
+                if (chunk.size() < REBUILD_CHUNK_SIZE) break;
+
+                chunk = postRepository.findByIdLessThanOrderByIdDesc(chunk.getLast().getId(), Limit.of(REBUILD_CHUNK_SIZE));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(PostChangedEvent event) {
+        switch (event.type()) {
+            case WRITE, MODIFY -> index(event.id(), event.title(), event.content());
+            case DELETE -> remove(event.id());
+        }
+    }
+
+    public void index(int id, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+
+        PostTokenizer.tokenizeForIndex(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        PostTokenizer.tokenizeForIndex(content).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+
+        try {
+            removeDocument(id);
+
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+            documents.put(id, new Document(frequencies.keySet().toArray(String[]::new), length));
+            totalLength += length;
+            postingCount += frequencies.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 모든 검색어 토큰을 포함하는 글만, 점수 높은순(같으면 최신순)으로 offset 부터 limit 건
+    public SearchResult search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(PostTokenizer.tokenize(query));
+
+        if (terms.isEmpty()) return new SearchResult(0, List.of());
+
+        lock.readLock().lock();
+
+        try {
+            // 가장 짧은 목록의 후보만 나머지 목록과 대조
+            List<Map<Integer, Integer>> termPostings = terms
+                    .stream()
+                    .map(term -> postings.getOrDefault(term, Map.of()))
+                    .sorted(Comparator.comparingInt(Map::size))
+                    .toList();
+
+            if (termPostings.getFirst().isEmpty()) return new SearchResult(0, List.of());
+
+            int documentCount = documents.size();
+            double averageLength = (double) totalLength / documentCount;
+            Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparingInt(Hit::id);
+
+            // 상위 offset + limit 건만 유지하는 최소 힙
+            int topSize = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(ranking);
+            int totalCount = 0;
+
+            candidates:
+            for (int id : termPostings.getFirst().keySet()) {
+                double lengthNorm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                double score = 0;
+
+                for (Map<Integer, Integer> posting : termPostings) {
+                    Integer frequency = posting.get(id);
+
+                    if (frequency == null) continue candidates;
+
+                    double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    score += idf * frequency * (K1 + 1) / (frequency + lengthNorm);
+                }
+
+                totalCount++;
+                top.offer(new Hit(id, score));
+
+                if (top.size() > topSize) top.poll();
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(ranking.reversed());
+
+            return new SearchResult(
+                    totalCount,
+                    hits.stream().skip(offset).map(Hit::id).toList()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 객체 헤더, 참조, 박싱을 포함한 대략적인 힙 사용량(64비트 JVM, compressed oops 기준)
+    public PostSearchIndexStatsDto getStats() {
+        lock.readLock().lock();
+
+        try {
+            long termBytes = 0;
+
+            for (String term : postings.keySet()) {
+                termBytes += 24 + 16 + term.length() * 2L // String
+                        + 32 // 바깥 맵 엔트리
+                        + 48 + 16; // 안쪽 HashMap 과 테이블 헤더
+            }
+
+            long postingBytes = postingCount * (32 + 16 + 8); // 엔트리, Integer 키, 테이블 슬롯
+            long documentBytes = documents.size() * (32L + 16 + 24 + 16) + postingCount * 4; // 엔트리, Integer 키, Document, terms 배열
+
+            return new PostSearchIndexStatsDto(
+                    documents.size(),
+                    postings.size(),
+                    postingCount,
+                    termBytes + postingBytes + documentBytes
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(int id) {
+        Document document = documents.remove(id);
+
+        if (document == null) return;
+
+        for (String term : document.terms()) {
+            Map<Integer, Integer> posting = postings.get(term);
+
+            if (posting == null) continue;
+
+            posting.remove(id);
+
+            if (posting.isEmpty()) postings.remove(term);
+        }
+
+        totalLength -= document.length();
+        postingCount -= document.terms().length;
+    }
+}
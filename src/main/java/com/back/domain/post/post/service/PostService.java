@@ -1,47 +1,289 @@
 package com.back.domain.post.post.service;
 
 import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.post.event.PostChangedEvent;
 import com.back.domain.post.post.repository.PostRepository;
 import com.back.domain.post.postComment.entity.PostComment;
+import com.back.domain.post.postComment.repository.PostCommentRepository;
+import com.back.global.shard.ShardContext;
+import com.back.global.shard.Shards;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.back.domain.post.post.event.PostChangedEvent.Type.*;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
+    // 대량 저장 시 flush 후 영속성 컨텍스트를 비우는 단위, jdbc.batch_size 의 배수
+    private static final int BULK_FLUSH_SIZE = 1000;
+    // 내보내기 시 댓글을 한 번에 조회하고 영속성 컨텍스트를 비우는 글 단위
+    private static final int EXPORT_CHUNK_SIZE = 100;
+
+    private final EntityManager entityManager;
     private final PostRepository postRepository;
+    private final PostCommentRepository postCommentRepository;
+    private final PostCounter postCounter;
+    private final PostViewCounter postViewCounter;
+    private final PostListCache postListCache;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Shards shards;
 
     public long count() {
-        return postRepository.count();
+        return postCounter.get();
     }
 
     public Post write(String title, String content) {
         Post post = new Post(title, content);
 
-        return postRepository.save(post);
+        postCounter.add(1);
+
+        postRepository.save(post);
+
+        eventPublisher.publishEvent(new PostChangedEvent(WRITE, post));
+
+        return post;
+    }
+
+    // INSERT 는 jdbc.batch_size 단위로 묶이고, 영속성 컨텍스트는 BULK_FLUSH_SIZE 마다 비워서 메모리를 일정하게 유지
+    public List<Post> writeAll(List<Post> posts) {
+        postCounter.add(posts.size());
+
+        for (int i = 0; i < posts.size(); i++) {
+            Post post = posts.get(i);
+
+            postRepository.save(post);
+
+            eventPublisher.publishEvent(new PostChangedEvent(WRITE, post));
+
+            if ((i + 1) % BULK_FLUSH_SIZE == 0) {
+                postRepository.flush();
+                entityManager.clear();
+            }
+        }
+
+        postRepository.flush();
+        entityManager.clear();
+
+        return posts;
+    }
+
+    // 트랜잭션 밖에서 호출하면 청크마다 커밋되어, 앞선 청크는 저장된 채로 다음 청크를 이어갈 수 있다
+    @Transactional
+    public List<Post> writeChunk(List<Post> posts) {
+        return writeAll(posts);
+    }
+
+    public record PostWithComments(
+            Post post,
+            List<PostComment> comments
+    ) {
+    }
+
+    // 글과 오래된순 댓글 최대 commentsLimit 건을 조인 쿼리 한 번으로 조회
+    public Optional<PostWithComments> findWithComments(int id, int commentsLimit) {
+        List<Object[]> rows = postRepository.findWithComments(id, Limit.of(commentsLimit));
+
+        if (rows.isEmpty()) return Optional.empty();
+
+        return Optional.of(new PostWithComments(
+                (Post) rows.getFirst()[0],
+                rows
+                        .stream()
+                        .map(row -> (PostComment) row[1])
+                        .filter(Objects::nonNull)
+                        .toList()
+        ));
     }
 
     public Optional<Post> findById(int id) {
         return postRepository.findById(id);
     }
 
+    // 현재 샤드에서만 찾는다, 호출하는 쪽이 ids 를 샤드별로 나눠야 한다
+    public List<Post> findAllByIds(Collection<Integer> ids) {
+        return postRepository.findAllById(ids);
+    }
+
+    public void increaseViewsCount(Post post) {
+        postViewCounter.increment(post.getId());
+    }
+
+    // DB 에 반영된 조회수 + 아직 메모리에만 있는 조회수
+    public long getViewsCount(Post post) {
+        return post.getViewsCount() + postViewCounter.getPending(post.getId());
+    }
+
     public List<Post> findAll() {
-        return postRepository.findAll();
+        return shards
+                .scatter(postRepository::findAll)
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    // 전체 글을 id 순으로 스트리밍, EXPORT_CHUNK_SIZE 건마다 댓글을 한 번에 조회해 넘긴 뒤 영속성 컨텍스트를 비운다
+    // 호출하는 쪽에 트랜잭션이 있어야 하고, 넘겨받은 엔티티는 콜백이 끝나면 준영속 상태가 된다
+    // 샤드가 여럿이면 샤드 순서대로 각 샤드를 id 순으로 스트리밍한다
+    public void forEachWithComments(BiConsumer<Post, List<PostComment>> consumer) {
+        shards.forEachShardInTransaction(() -> {
+            try (Stream<Post> posts = postRepository.streamAllByOrderByIdAsc()) {
+                Iterator<Post> iterator = posts.iterator();
+                List<Post> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+
+                    if (chunk.size() < EXPORT_CHUNK_SIZE && iterator.hasNext()) continue;
+
+                    Map<Integer, List<PostComment>> comments = postCommentRepository
+                            .findByPostIdInOrderByPostIdAscIdAsc(chunk.stream().map(Post::getId).toList())
+                            .stream()
+                            .collect(Collectors.groupingBy(postComment -> postComment.getPost().getId()));
+
+                    chunk.forEach(post -> consumer.accept(post, comments.getOrDefault(post.getId(), List.of())));
+
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    // 최신순 커서 페이징, after 보다 작은 id 중 최대 limit 건을 PK 인덱스 범위 스캔으로 조회
+    // 샤드가 여럿이면 샤드마다 limit 건씩 조회해서 id 역순으로 합친다
+    public List<Post> findPage(Integer after, int limit) {
+        return mergeByIdDesc(
+                shards.scatter(() -> {
+                    if (after == null) return postRepository.findAllByOrderByIdDesc(Limit.of(limit));
+
+                    return postRepository.findByIdLessThanOrderByIdDesc(after, Limit.of(limit));
+                }),
+                Post::getId,
+                limit
+        );
+    }
+
+    // findPage 와 같지만 fields 에 나열된 컬럼만 조회해 Map 으로 돌려준다, 엔티티는 만들지 않음
+    public List<Map<String, Object>> findPageFields(String fields, Integer after, int limit) {
+        return mergeByIdDesc(
+                shards.scatter(() -> postRepository.findPageFields(fields, after, limit)),
+                row -> (Integer) row.get("id"),
+                limit
+        );
+    }
+
+    private static <T> List<T> mergeByIdDesc(List<List<T>> pages, ToIntFunction<T> id, int limit) {
+        if (pages.size() == 1) return pages.getFirst();
+
+        return pages
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingInt(id).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public boolean existsById(int id) {
+        return postRepository.existsById(id);
+    }
+
+    // 검색 색인에서 순위대로 id 를 얻고, 해당 글들만 한 번에 조회
+    public Page<Post> search(String query, Pageable pageable) {
+        // 색인은 int 오프셋을 쓰므로, 그보다 뒤의 페이지는 어차피 결과가 없는 오프셋으로 줄여서 빈 페이지를 돌려준다
+        int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - pageable.getPageSize());
+        PostSearchIndex.SearchResult result = postSearchIndex.search(query, offset, pageable.getPageSize());
+
+        Map<Integer, Post> posts = shards
+                .scatter(() -> postRepository.findAllById(
+                        result.ids().stream().filter(id -> shards.shardOf(id) == ShardContext.current()).toList()
+                ))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return new PageImpl<>(
+                result.ids().stream().map(posts::get).filter(Objects::nonNull).toList(),
+                pageable,
+                result.totalCount()
+        );
     }
 
     public void modify(Post post, String title, String content) {
         post.modify(title, content);
+
+        eventPublisher.publishEvent(new PostChangedEvent(MODIFY, post));
     }
 
+    // 댓글 수가 목록에 드러나므로 댓글을 쓰거나 지우면 목록 캐시를 비운다
+    // 엔티티의 댓글 수는 UPDATE 되지 않으므로 DB 에서 원자적으로 더한다, 아직 INSERT 되지 않은 글이면 INSERT 가 엔티티 값을 쓴다
     public PostComment writeComment(Post post, String content) {
+        postListCache.invalidate();
+        postRepository.addCommentsCount(post.getId(), 1);
+
         return post.addComment(content);
     }
 
+    public List<PostComment> writeComments(Post post, List<String> contents) {
+        postListCache.invalidate();
+        postRepository.addCommentsCount(post.getId(), contents.size());
+
+        return contents
+                .stream()
+                .map(post::addComment)
+                .toList();
+    }
+
+    public List<PostComment> findCommentsByIds(int postId, Collection<Integer> ids) {
+        return postCommentRepository.findByPostIdAndIdIn(postId, ids);
+    }
+
+    public Optional<PostComment> findCommentById(int postId, int id) {
+        return postCommentRepository.findByPostIdAndId(postId, id);
+    }
+
+    // 오래된순 커서 페이징, after 보다 큰 id 중 최대 limit 건을 (post_id, id) 인덱스로 조회
+    public List<PostComment> findCommentPage(int postId, Integer after, int limit) {
+        if (after == null) return postCommentRepository.findByPostIdOrderByIdAsc(postId, Limit.of(limit));
+
+        return postCommentRepository.findByPostIdAndIdGreaterThanOrderByIdAsc(postId, after, Limit.of(limit));
+    }
+
+    public List<Map<String, Object>> findCommentPageFields(int postId, String fields, Integer after, int limit) {
+        return postCommentRepository.findPageFields(postId, fields, after, limit);
+    }
+
     public boolean deleteComment(Post post, PostComment postComment) {
-        return post.deleteComment(postComment);
+        if (!post.deleteComment(postComment)) return false;
+
+        postListCache.invalidate();
+        postRepository.addCommentsCount(post.getId(), -1);
+
+        postCommentRepository.delete(postComment);
+
+        return true;
     }
 
     public void modifyComment(PostComment postComment, String content) {
@@ -49,11 +291,19 @@ public class PostService {
     }
 
     public void delete(Post post) {
+        postCounter.add(-1);
+
         postRepository.delete(post);
+
+        eventPublisher.publishEvent(new PostChangedEvent(DELETE, post));
     }
 
     public Optional<Post> findLatest() {
-        return postRepository.findFirstByOrderByIdDesc();
+        return shards
+                .scatter(postRepository::findFirstByOrderByIdDesc)
+                .stream()
+                .flatMap(Optional::stream)
+                .max(Comparator.comparingInt(Post::getId));
     }
 
     public void flush() {
@@ -0,0 +1,90 @@
+package com.back.domain.post.post.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 검색 색인용 토크나이저
+// - 영문/숫자: 연속된 문자열을 소문자 단어 하나로
+// - 한글/한자/가나: 조사가 붙어 띄어쓰기 단위로는 찾기 어려우므로 2글자씩 겹쳐 자른다(bigram), "게시글을" -> 게시, 시글, 글을
+//   한 글자 검색어("글")도 찾을 수 있도록 색인할 때는 한 글자씩(unigram)도 함께 넣는다, 검색어는 두 글자 이상이면 bigram 만 쓴다.
+public class PostTokenizer {
+    private PostTokenizer() {
+    }
+
+    // 검색어용
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    // 색인용, 한글/한자/가나는 bigram 에 unigram 을 더한다
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    private static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+
+        if (text == null) return tokens;
+
+        String lowerCased = text.toLowerCase(Locale.ROOT);
+        int length = lowerCased.length();
+        int i = 0;
+
+        while (i < length) {
+            int codePoint = lowerCased.codePointAt(i);
+
+            if (isBigramScript(codePoint)) {
+                int start = i;
+
+                while (i < length && isBigramScript(lowerCased.codePointAt(i))) i += Character.charCount(lowerCased.codePointAt(i));
+
+                addBigrams(lowerCased.substring(start, i), withUnigrams, tokens);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+
+                while (i < length) {
+                    int current = lowerCased.codePointAt(i);
+
+                    if (!Character.isLetterOrDigit(current) || isBigramScript(current)) break;
+
+                    i += Character.charCount(current);
+                }
+
+                tokens.add(lowerCased.substring(start, i));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+
+        return tokens;
+    }
+
+    private static void addBigrams(String run, boolean withUnigrams, List<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+
+        if (codePoints.length == 1) {
+            tokens.add(run);
+            return;
+        }
+
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+
+        if (!withUnigrams) return;
+
+        for (int i = 0; i < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 1));
+        }
+    }
+
+    private static boolean isBigramScript(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
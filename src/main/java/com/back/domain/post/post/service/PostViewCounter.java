@@ -0,0 +1,140 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.entity.Post;
+import com.back.global.shard.ShardContext;
+import com.back.global.shard.Shards;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 글 조회수를 메모리에 모았다가 주기적으로 한 번의 배치 UPDATE 로 반영, 조회 요청은 읽기 전용 트랜잭션으로 유지된다.
+@Component
+@RequiredArgsConstructor
+public class PostViewCounter {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Shards shards;
+    private final PostListCache postListCache;
+
+    // 증가는 읽기 락으로 동시에, 반영할 때는 쓰기 락으로 맵을 통째로 바꿔서 반영 중에 들어온 증가분을 잃지 않는다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 같은 글을 동시에 조회해도 LongAdder 가 셀을 나눠 갖기 때문에 경합하지 않는다.
+    private ConcurrentHashMap<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void increment(int postId) {
+        add(postId, 1);
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수
+    public long getPending(int postId) {
+        lock.readLock().lock();
+
+        try {
+            LongAdder adder = pending.get(postId);
+
+            return adder == null ? 0 : adder.sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${custom.post.view-counter.flush-interval:PT5S}",
+            fixedDelayString = "${custom.post.view-counter.flush-interval:PT5S}"
+    )
+    public synchronized int flush() {
+        Map<Integer, LongAdder> drained;
+
+        lock.writeLock().lock();
+
+        try {
+            if (pending.isEmpty()) return 0;
+
+            drained = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // id 순으로 갱신해서 다른 트랜잭션과 행 락 순서가 엇갈리지 않게 한다, 샤드가 여럿이면 샤드별로 나눠서 각 샤드에 반영
+        Map<Integer, Map<Integer, Long>> deltasByShard = new TreeMap<>();
+        drained.forEach((postId, adder) -> deltasByShard
+                .computeIfAbsent(shards.shardOf(postId), shard -> new TreeMap<>())
+                .put(postId, adder.sum()));
+
+        int flushed = 0;
+        List<Integer> flushedPostIds = new ArrayList<>();
+        RuntimeException failure = null;
+
+        for (Map.Entry<Integer, Map<Integer, Long>> entry : deltasByShard.entrySet()) {
+            Map<Integer, Long> deltas = entry.getValue();
+
+            try {
+                ShardContext.run(entry.getKey(), () -> update(deltas));
+            } catch (RuntimeException e) {
+                // 반영하지 못한 증가분은 다음 주기에 다시 시도
+                deltas.forEach(this::add);
+
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+
+                continue;
+            }
+
+            // JPA 를 거치지 않고 갱신했으므로 2차 캐시의 글을 비운다.
+            deltas.keySet().forEach(postId -> entityManagerFactory.getCache().evict(Post.class, postId));
+
+            flushed += deltas.size();
+            flushedPostIds.addAll(deltas.keySet());
+        }
+
+        // 목록에 보이는 조회수도 바뀌었으므로 그 글이 담긴 페이지만 비운다, 조회되지 않은 글만 담긴 페이지는 남는다.
+        if (flushed > 0) postListCache.invalidate(flushedPostIds);
+
+        if (failure != null) throw failure;
+
+        return flushed;
+    }
+
+    private void update(Map<Integer, Long> deltas) {
+        List<Object[]> args = deltas
+                .entrySet()
+                .stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("update post set views_count = views_count + ? where id = ?", args)
+        );
+    }
+
+    // 정상 종료 시 남은 조회수를 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(int postId, long delta) {
+        lock.readLock().lock();
+
+        try {
+            pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,41 +1,81 @@
 package com.back.domain.post.postComment.controller;
 
 import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.post.service.PostCommentGroupCommitter;
 import com.back.domain.post.post.service.PostService;
 import com.back.domain.post.postComment.dto.PostCommentDto;
 import com.back.domain.post.postComment.entity.PostComment;
+import com.back.global.exception.ServiceException;
+import com.back.global.httpCache.EntityTags;
+import com.back.global.pagination.CursorPageDto;
 import com.back.global.rsData.RsData;
+import com.back.global.validation.BulkValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/posts/{postId}/comments")
 @RequiredArgsConstructor
 @Tag(name = "ApiV1PostCommentController", description = "API 댓글 컨트롤러")
 public class ApiV1PostCommentController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 1_000;
+
     private final PostService postService;
+    private final PostCommentGroupCommitter postCommentGroupCommitter;
+    private final BulkValidator bulkValidator;
 
     @GetMapping
     @Transactional(readOnly = true)
-    @Operation(summary = "다건 조회")
-    public List<PostCommentDto> getItems(
-            @PathVariable int postId
+    @Operation(summary = "다건 조회", description = "오래된순 커서 페이징, 다음 페이지는 응답의 nextCursor 를 after 로 전달")
+    public CursorPageDto<PostCommentDto> getItems(
+            @PathVariable int postId,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "30") int size,
+            WebRequest webRequest
     ) {
-       Post post = postService.findById(postId).get();
+        Post post = postService.findById(postId).get();
 
-        return post
-                .getComments()
-                .stream()
-                .map(PostCommentDto::new) //람다식: post -> new PostDto(post)
-                .toList();
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        List<PostComment> items = postService.findCommentPage(post.getId(), after, pageSize + 1);
+
+        // 삭제는 최신 수정일에 드러나지 않으므로 목록은 ETag 로만 판단
+        if (webRequest.checkNotModified(EntityTags.of(items))) return null;
+
+        return CursorPageDto.of(items, pageSize, PostCommentDto::new); //람다식: postComment -> new PostCommentDto(postComment)
+    }
+
+    @GetMapping(params = "fields")
+    @Transactional(readOnly = true)
+    @Operation(summary = "다건 조회(필드 선택)", description = "fields 에 쉼표로 나열한 필드만 조회, id 는 항상 포함")
+    public CursorPageDto<Map<String, Object>> getItemsWithFields(
+            @PathVariable int postId,
+            @RequestParam String fields,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "30") int size
+    ) {
+        if (!postService.existsById(postId))
+            throw new ServiceException("404-1", "해당 데이터가 존재하지 않습니다.");
+
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        return CursorPageDto.ofFields(postService.findCommentPageFields(postId, fields, after, pageSize + 1), pageSize);
     }
 
     @GetMapping("/{id}")
@@ -43,27 +83,30 @@ public class ApiV1PostCommentController {
     @Operation(summary = "단건 조회")
     public PostCommentDto getItem(
             @PathVariable int postId,
-            @PathVariable int id
+            @PathVariable int id,
+            WebRequest webRequest
     ) {
-        Post post = postService.findById(postId).get();
+        PostComment postComment = postService.findCommentById(postId, id).get();
 
-        PostComment postComment = post.findCommentById(id).get();
+        if (webRequest.checkNotModified(EntityTags.of(postComment), EntityTags.lastModified(postComment))) return null;
 
         return new PostCommentDto(postComment);
     }
 
     @DeleteMapping("/{id}")
     @Transactional
-    @Operation(summary = "삭제")
+    @Operation(summary = "삭제", description = "If-Match 에 조회 때 받은 ETag 를 보내면 그 사이 댓글이 바뀐 경우 412")
     public RsData<PostCommentDto> delete(
             @PathVariable int postId,
-            @PathVariable int id
+            @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Post post = postService.findById(postId).get();
+        PostComment postComment = postService.findCommentById(postId, id).get();
 
-        PostComment postComment = post.findCommentById(id).get();
+        checkIfMatch(ifMatch, postComment);
 
-        postService.deleteComment(post, postComment);
+        postService.deleteComment(postComment.getPost(), postComment);
+        postService.flush(); // 버전 충돌이면 응답 전에 409
 
         return new RsData<>(
                 "200-1",
@@ -80,17 +123,19 @@ public class ApiV1PostCommentController {
 
     @PutMapping("/{id}")
     @Transactional
-    @Operation(summary = "수정")
+    @Operation(summary = "수정", description = "If-Match 에 조회 때 받은 ETag 를 보내면 그 사이 댓글이 바뀐 경우 412")
     public RsData<PostCommentDto> modify(
             @PathVariable int postId,
             @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody PostCommentModifyReqBody reqBody
     ) {
-        Post post = postService.findById(postId).get();
+        PostComment postComment = postService.findCommentById(postId, id).get();
 
-        PostComment postComment = post.findCommentById(id).get();
+        checkIfMatch(ifMatch, postComment);
 
         postService.modifyComment(postComment, reqBody.content);
+        postService.flush(); // 버전 충돌이면 응답 전에 409
 
         return new RsData<>(
                 "200-1",
@@ -98,23 +143,93 @@ public class ApiV1PostCommentController {
         );
     }
 
+    // 트랜잭션은 PostCommentGroupCommitter 가 연다, group-commit 모드에서는 다른 요청의 댓글과 함께 커밋된다.
     @PostMapping
-    @Transactional
     @Operation(summary = "작성")
     public RsData<PostCommentDto> write(
             @PathVariable int postId,
             @Valid @RequestBody PostCommentModifyReqBody reqBody
     ) {
+        PostComment postComment = postCommentGroupCommitter.write(postId, reqBody.content);
+
+        return new RsData<>(
+                "201-1",
+                "%d번 댓글이 작성되었습니다.".formatted(postComment.getId()),
+                new PostCommentDto(postComment)
+        );
+    }
+
+    record PostCommentBulkModifyReqBody(
+            @Positive
+            int id,
+            @NotBlank @Size(min=2, max=100)
+            String content
+    ) {}
+
+    record PostCommentBulkResBody(
+            List<Integer> ids
+    ) {}
+
+    @PostMapping("/bulk")
+    @Transactional
+    @Operation(summary = "일괄 작성", description = "항목 중 하나라도 올바르지 않으면 아무것도 저장하지 않고 항목별 검증 결과를 응답")
+    public RsData<PostCommentBulkResBody> bulkWrite(
+            @PathVariable int postId,
+            @RequestBody List<PostCommentModifyReqBody> reqBody
+    ) {
+        bulkValidator.validate(reqBody, MAX_BULK_SIZE);
+
         Post post = postService.findById(postId).get();
 
-        PostComment postComment = postService.writeComment(post, reqBody.content);
+        List<PostComment> postComments = postService.writeComments(
+                post,
+                reqBody.stream().map(PostCommentModifyReqBody::content).toList()
+        );
 
-        postService.flush(); //트랜잭션 끝난 후 수행되어야 하는 더티체킹 및 여러 작업들을 지금 당장 수행하도록 함
+        postService.flush(); // 모든 댓글의 INSERT 를 한 번에 배치로 실행해서 id 를 확정
 
         return new RsData<>(
                 "201-1",
-                "%d번 댓글이 작성되었습니다.".formatted(postComment.getId()),
-                new PostCommentDto(postComment)
+                "%d건의 댓글이 작성되었습니다.".formatted(postComments.size()),
+                new PostCommentBulkResBody(
+                        postComments.stream().map(PostComment::getId).toList()
+                )
         );
     }
+
+    @PatchMapping("/bulk")
+    @Transactional
+    @Operation(summary = "일괄 수정", description = "항목 중 하나라도 올바르지 않거나 존재하지 않으면 아무것도 수정하지 않음")
+    public RsData<PostCommentBulkResBody> bulkModify(
+            @PathVariable int postId,
+            @RequestBody List<PostCommentBulkModifyReqBody> reqBody
+    ) {
+        bulkValidator.validate(reqBody, MAX_BULK_SIZE);
+
+        List<Integer> ids = reqBody.stream().map(PostCommentBulkModifyReqBody::id).toList();
+
+        Map<Integer, PostComment> postComments = postService
+                .findCommentsByIds(postId, ids)
+                .stream()
+                .collect(Collectors.toMap(PostComment::getId, Function.identity()));
+
+        List<Integer> missingIds = ids.stream().filter(id -> !postComments.containsKey(id)).distinct().toList();
+
+        if (!missingIds.isEmpty())
+            throw new ServiceException("404-1", "해당 데이터가 존재하지 않습니다.", missingIds);
+
+        reqBody.forEach(item -> postService.modifyComment(postComments.get(item.id), item.content));
+
+        return new RsData<>(
+                "200-1",
+                "%d건의 댓글이 수정되었습니다.".formatted(reqBody.size()),
+                new PostCommentBulkResBody(ids)
+        );
+    }
+
+    // 클라이언트가 본 상태(ETag)와 현재 상태가 다르면 수정하지 않는다, 확인 이후 커밋 전의 경쟁은 @Version 이 막는다.
+    private void checkIfMatch(String ifMatch, PostComment postComment) {
+        if (!EntityTags.matches(ifMatch, postComment))
+            throw new ServiceException("412-1", "%d번 댓글이 그 사이 변경되었습니다. 다시 조회한 뒤 시도해주세요.".formatted(postComment.getId()));
+    }
 }
@@ -8,14 +8,16 @@ public record PostCommentDto(
         int id,
         LocalDateTime createdDate,
         LocalDateTime modifiedDate,
-        String content
+        String content,
+        long version
 ) {
     public PostCommentDto(PostComment postComment) {
         this(
                 postComment.getId(),
                 postComment.getCreateDate(),
                 postComment.getModifyDate(),
-                postComment.getContent()
+                postComment.getContent(),
+                postComment.getVersion()
         );
     }
 }
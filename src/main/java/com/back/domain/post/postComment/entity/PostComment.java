@@ -3,16 +3,27 @@ package com.back.domain.post.postComment.entity;
 import com.back.domain.post.post.entity.Post;
 import com.back.global.jpa.entity.BaseEntity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+
+import static jakarta.persistence.FetchType.LAZY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE)
+@Table(indexes = @Index(name = "idx_post_comment__post_id_id", columnList = "post_id, id")) // (postId, id) 단건 조회 및 커서 페이징용
 @Getter
 @NoArgsConstructor
 public class PostComment extends BaseEntity {
-    @ManyToOne
+    // 댓글 조회 때마다 글까지 따라 조회되지 않도록 지연 로딩, 필요한 곳에서만 프록시를 초기화한다.
+    @ManyToOne(fetch = LAZY)
     @JsonIgnore
     private Post post;
     private String content;
@@ -25,4 +36,4 @@ public class PostComment extends BaseEntity {
     public void modify(String content) {
         this.content = content;
     }
-}
\ No newline at end of file
+}
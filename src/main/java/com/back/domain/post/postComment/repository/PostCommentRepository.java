@@ -0,0 +1,30 @@
+package com.back.domain.post.postComment.repository;
+
+import com.back.domain.post.postComment.entity.PostComment;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface PostCommentRepository extends JpaRepository<PostComment, Integer>, PostCommentRepositoryCustom {
+    Optional<PostComment> findByPostIdAndId(int postId, int id);
+
+    List<PostComment> findByPostIdOrderByIdAsc(int postId, Limit limit);
+
+    List<PostComment> findByPostIdAndIdGreaterThanOrderByIdAsc(int postId, int id, Limit limit);
+
+    List<PostComment> findByPostIdAndIdIn(int postId, Collection<Integer> ids);
+
+    @QueryHints({
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    List<PostComment> findByPostIdInOrderByPostIdAscIdAsc(Collection<Integer> postIds);
+}
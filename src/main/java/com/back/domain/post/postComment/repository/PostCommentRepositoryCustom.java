@@ -0,0 +1,8 @@
+package com.back.domain.post.postComment.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface PostCommentRepositoryCustom {
+    List<Map<String, Object>> findPageFields(int postId, String fields, Integer after, int limit);
+}
@@ -0,0 +1,45 @@
+package com.back.domain.post.postComment.repository;
+
+import com.back.global.jpa.projection.FieldProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class PostCommentRepositoryCustomImpl implements PostCommentRepositoryCustom {
+    // 키는 PostCommentDto 의 필드 이름
+    private static final FieldProjection FIELDS = new FieldProjection(Map.of(
+            "id", "c.id",
+            "createdDate", "c.createDate",
+            "modifiedDate", "c.modifyDate",
+            "content", "c.content",
+            "version", "c.version"
+    ));
+
+    private final EntityManager entityManager;
+
+    // findCommentPage 와 같은 오래된순 커서 페이징, 요청된 컬럼만 조회
+    @Override
+    public List<Map<String, Object>> findPageFields(int postId, String fields, Integer after, int limit) {
+        List<String> names = FIELDS.parse(fields);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select " + FIELDS.select(names)
+                        + " from PostComment c"
+                        + " where c.post.id = :postId"
+                        + (after == null ? "" : " and c.id > :after")
+                        + " order by c.id asc",
+                Tuple.class
+        );
+
+        query.setParameter("postId", postId);
+
+        if (after != null) query.setParameter("after", after);
+
+        return FIELDS.toMaps(query.setMaxResults(limit).getResultList(), names);
+    }
+}
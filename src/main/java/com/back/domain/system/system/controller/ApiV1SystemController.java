@@ -0,0 +1,31 @@
+package com.back.domain.system.system.controller;
+
+import com.back.domain.post.post.dto.PostSearchIndexStatsDto;
+import com.back.domain.system.system.dto.SecondLevelCacheStatsDto;
+import com.back.domain.system.system.service.SystemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/system")
+@RequiredArgsConstructor
+@Tag(name = "ApiV1SystemController", description = "API 시스템 컨트롤러")
+public class ApiV1SystemController {
+    private final SystemService systemService;
+
+    @GetMapping("/secondLevelCache")
+    @Operation(summary = "2차 캐시 통계")
+    public SecondLevelCacheStatsDto getSecondLevelCacheStats() {
+        return systemService.getSecondLevelCacheStats();
+    }
+
+    @GetMapping("/postSearchIndex")
+    @Operation(summary = "글 검색 색인 통계")
+    public PostSearchIndexStatsDto getPostSearchIndexStats() {
+        return systemService.getPostSearchIndexStats();
+    }
+}
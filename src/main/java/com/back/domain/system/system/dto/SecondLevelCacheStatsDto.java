@@ -0,0 +1,26 @@
+package com.back.domain.system.system.dto;
+
+import java.util.List;
+
+public record SecondLevelCacheStatsDto(
+        long hitCount,
+        long missCount,
+        long putCount,
+        double hitRatio,
+        List<RegionStatsDto> regions
+) {
+    public record RegionStatsDto(
+            String name,
+            long hitCount,
+            long missCount,
+            long putCount,
+            long elementCountInMemory
+    ) {
+    }
+
+    public static double hitRatio(long hitCount, long missCount) {
+        long total = hitCount + missCount;
+
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,58 @@
+package com.back.domain.system.system.service;
+
+import com.back.domain.post.post.dto.PostSearchIndexStatsDto;
+import com.back.domain.post.post.service.PostSearchIndex;
+import com.back.domain.system.system.dto.SecondLevelCacheStatsDto;
+import com.back.domain.system.system.dto.SecondLevelCacheStatsDto.RegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SystemService {
+    private final EntityManagerFactory entityManagerFactory;
+    private final PostSearchIndex postSearchIndex;
+
+    public SecondLevelCacheStatsDto getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        List<RegionStatsDto> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> {
+                    CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+
+                    return new RegionStatsDto(
+                            name,
+                            region.getHitCount(),
+                            region.getMissCount(),
+                            region.getPutCount(),
+                            region.getElementCountInMemory()
+                    );
+                })
+                .toList();
+
+        return new SecondLevelCacheStatsDto(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                SecondLevelCacheStatsDto.hitRatio(
+                        statistics.getSecondLevelCacheHitCount(),
+                        statistics.getSecondLevelCacheMissCount()
+                ),
+                regions
+        );
+    }
+
+    public PostSearchIndexStatsDto getPostSearchIndexStats() {
+        return postSearchIndex.getStats();
+    }
+}
@@ -0,0 +1,96 @@
+package com.back.global.dataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+// 동시에 빌려갈 수 있는 커넥션 수를 세마포어로 제한, 가상 스레드 수천 개가 한꺼번에 커넥션 풀에 몰리지 않고 공정하게(FIFO) 대기하게 한다.
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConcurrent, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), NANOSECONDS))
+                throw new SQLTransientConnectionException("커넥션 대기 시간(%dms)을 초과했습니다.".formatted(acquireTimeout.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("커넥션 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    // 커넥션을 닫을 때(풀에 반납할 때) 허가를 한 번만 돌려준다.
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+
+                        return null;
+                    }
+
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.back.global.dataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConfig {
+    // 가상 스레드 모드에서는 요청 스레드 수에 상한이 없으므로 커넥션 풀 앞에 동시 사용 제한을 둘 수 있다.
+    // 기본은 꺼 둔다, 켜기 전에 ConnectionLimitingDataSourceBenchmark 로 제한 없는 hikari 대기열과 비교할 것.
+    @Bean
+    @ConditionalOnProperty(name = "custom.datasource.connection-limit.enabled", havingValue = "true")
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikariDataSource)) return bean;
+
+                int maxConcurrent = environment.getProperty(
+                        "custom.datasource.connection-limit.max-concurrent",
+                        Integer.class,
+                        hikariDataSource.getMaximumPoolSize()
+                );
+                Duration acquireTimeout = environment.getProperty(
+                        "custom.datasource.connection-limit.acquire-timeout",
+                        Duration.class,
+                        Duration.ofMillis(hikariDataSource.getConnectionTimeout())
+                );
+
+                return new ConnectionLimitingDataSource(hikariDataSource, maxConcurrent, acquireTimeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.back.global.dataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// 쓰기를 한 클라이언트에게 쿠키로 "이 시각까지는 주 DB 에서 읽기"를 남기고,
+// 그 시각 전에 들어온 요청은 읽기 전용 트랜잭션이라도 주 DB 로 보낸다. 복제 지연 동안 방금 쓴 데이터가 안 보이는 것을 막는다.
+@Component
+@ConditionalOnProperty(name = "custom.datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE_NAME = "primaryUntil";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(@Value("${custom.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (isWithinWindow(request)) ReplicaRoutingContext.forcePrimary();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 바디를 쓰지 않는 응답은 ReadYourWritesResponseBodyAdvice 를 거치지 않으므로 여기서 한 번 더 시도
+            if (!response.isCommitted()) addCookieIfWritten(response);
+
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    public void addCookieIfWritten(HttpServletResponse response) {
+        if (!ReplicaRoutingContext.consumeWritten()) return;
+
+        Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(window.toSeconds(), 1));
+
+        response.addCookie(cookie);
+    }
+
+    private boolean isWithinWindow(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+
+        if (cookie == null) return false;
+
+        try {
+            return System.currentTimeMillis() < Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.back.global.dataSource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 바디를 쓰기 직전, 응답이 커밋되기 전에 쓰기 여부를 보고 쿠키를 남긴다.
+@ControllerAdvice
+@ConditionalOnProperty(name = "custom.datasource.replica.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadYourWritesResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    private final ReadYourWritesFilter readYourWritesFilter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (response instanceof ServletServerHttpResponse servletResponse)
+            readYourWritesFilter.addCookieIfWritten(servletResponse.getServletResponse());
+
+        return body;
+    }
+}
@@ -0,0 +1,72 @@
+package com.back.global.dataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// custom.datasource.replica.enabled 면 spring.datasource 를 주 DB, custom.datasource.replica 를 복제 DB 로 쓰고
+// 읽기 전용 트랜잭션을 복제 DB 로 보낸다.
+@Configuration
+@ConditionalOnProperty(name = "custom.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("custom.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(Environment environment) {
+        HikariDataSource dataSource = DataSourceBuilder
+                .create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty("custom.datasource.replica.url"))
+                .username(environment.getProperty("custom.datasource.replica.username"))
+                .password(environment.getProperty("custom.datasource.replica.password"))
+                .driverClassName(environment.getProperty("custom.datasource.replica.driver-class-name"))
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource
+    ) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+
+    // 기본값(DELAYED_ACQUISITION_AND_HOLD)은 open-in-view 로 요청 내내 열려 있는 세션이 처음 고른 커넥션을 계속 쓰므로,
+    // 트랜잭션이 끝날 때마다 커넥션을 반납해서 다음 트랜잭션이 다시 라우팅되게 한다.
+    @Bean
+    HibernatePropertiesCustomizer replicaRoutingHibernatePropertiesCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(
+                AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
+        );
+    }
+}
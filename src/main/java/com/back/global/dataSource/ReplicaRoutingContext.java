@@ -0,0 +1,37 @@
+package com.back.global.dataSource;
+
+// 요청 스레드 단위의 라우팅 상태, 쓰기 직후의 읽기를 복제 지연이 없는 주 DB 로 보내기 위함
+public class ReplicaRoutingContext {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WRITTEN = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(true);
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    // 쓰기 트랜잭션이 주 DB 를 사용했음을 기록, 같은 요청의 이후 읽기도 주 DB 로 보낸다.
+    public static void markWritten() {
+        WRITTEN.set(true);
+        PRIMARY_FORCED.set(true);
+    }
+
+    // 쓰기 기록을 한 번만 꺼내 본다, 쿠키를 중복으로 남기지 않기 위함
+    public static boolean consumeWritten() {
+        boolean written = Boolean.TRUE.equals(WRITTEN.get());
+        WRITTEN.remove();
+
+        return written;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+        WRITTEN.remove();
+    }
+}
@@ -0,0 +1,33 @@
+package com.back.global.dataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// 읽기 전용 트랜잭션은 복제 DB, 나머지는 주 DB 로 보낸다.
+// 트랜잭션의 readOnly 여부는 트랜잭션 시작 후에 정해지므로 LazyConnectionDataSourceProxy 로 감싸서 첫 SQL 시점에 커넥션을 고르게 해야 한다.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (readOnly && !ReplicaRoutingContext.isPrimaryForced()) return Target.REPLICA;
+
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) ReplicaRoutingContext.markWritten();
+
+        return Target.PRIMARY;
+    }
+}
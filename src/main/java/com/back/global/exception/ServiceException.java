@@ -0,0 +1,26 @@
+package com.back.global.exception;
+
+import com.back.global.rsData.RsData;
+import lombok.Getter;
+
+@Getter
+public class ServiceException extends RuntimeException {
+    private final String resultCode;
+    private final String msg;
+    private final Object data;
+
+    public ServiceException(String resultCode, String msg) {
+        this(resultCode, msg, null);
+    }
+
+    public ServiceException(String resultCode, String msg, Object data) {
+        super(resultCode + " : " + msg);
+        this.resultCode = resultCode;
+        this.msg = msg;
+        this.data = data;
+    }
+
+    public RsData<Object> getRsData() {
+        return new RsData<>(resultCode, msg, data);
+    }
+}
@@ -1,7 +1,10 @@
 package com.back.global.globalExceptionHandler;
 
+import com.back.global.exception.ServiceException;
 import com.back.global.rsData.RsData;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -14,6 +17,7 @@ import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @ControllerAdvice
@@ -60,6 +64,28 @@ public class GlobalExceptionHandler {
                 BAD_REQUEST
         );
     }
+
+    // @Version 이 다른 트랜잭션의 수정을 감지한 경우
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<RsData<Void>> handle(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(
+                new RsData<>(
+                        "409-1",
+                        "다른 요청이 먼저 수정했습니다. 다시 조회한 뒤 시도해주세요."
+                ),
+                CONFLICT
+        );
+    }
+
+    @ExceptionHandler(ServiceException.class)
+    public ResponseEntity<RsData<Object>> handle(ServiceException ex) {
+        RsData<Object> rsData = ex.getRsData();
+
+        return new ResponseEntity<>(
+                rsData,
+                HttpStatusCode.valueOf(rsData.statusCode())
+        );
+    }
 }
 
 /*
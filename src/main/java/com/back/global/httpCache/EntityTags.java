@@ -0,0 +1,86 @@
+package com.back.global.httpCache;
+
+import com.back.global.jpa.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+// 조건부 요청(If-None-Match, If-Modified-Since, If-Match)에 쓰는 ETag, Last-Modified 값을 만든다.
+// 단건 ETag 는 "id-v버전" 으로 시작하고, version 에 잡히지 않는 응답 값(댓글 수 등)이 있으면 그 해시를 뒤에 붙인다.
+// If-Match 는 "id-v버전" 부분만 비교해서, 댓글 작성처럼 version 을 올리지 않는 변경은 수정/삭제와 충돌하지 않는다.
+public class EntityTags {
+    private EntityTags() {
+    }
+
+    public static String of(BaseEntity entity) {
+        return "\"%s\"".formatted(versionTag(entity));
+    }
+
+    public static String of(BaseEntity entity, long... derived) {
+        if (derived.length == 0) return of(entity);
+
+        return "\"%s-%x\"".formatted(versionTag(entity), hash(1125899906842597L, derived));
+    }
+
+    // 목록은 포함된 엔티티들의 (id, modifyDate) 순서열의 해시, 항목이 추가/삭제/수정되면 달라진다.
+    // modifyDate 를 바꾸지 않는 응답 값(조회수 등)은 derived 로 함께 넣는다.
+    public static String of(Collection<? extends BaseEntity> entities, long... derived) {
+        long hash = 1125899906842597L;
+
+        for (BaseEntity entity : entities) {
+            hash = 31 * hash + entity.getId();
+            hash = 31 * hash + toMicros(entity.getModifyDate());
+        }
+
+        return "\"%d-%x\"".formatted(entities.size(), hash(hash, derived));
+    }
+
+    // If-Match 의 ETag 중 하나라도 현재 id, version 과 같으면 true, "*" 는 항상 통과. 헤더가 없으면 확인하지 않는다.
+    public static boolean matches(String ifMatch, BaseEntity entity) {
+        if (ifMatch == null || ifMatch.isBlank()) return true;
+
+        String versionTag = versionTag(entity);
+
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+
+            if (trimmed.equals("*")) return true;
+
+            if (trimmed.length() < 2 || !trimmed.startsWith("\"") || !trimmed.endsWith("\"")) continue;
+
+            String value = trimmed.substring(1, trimmed.length() - 1);
+
+            if (value.equals(versionTag) || value.startsWith(versionTag + "-")) return true;
+        }
+
+        return false;
+    }
+
+    private static String versionTag(BaseEntity entity) {
+        return "%d-v%d".formatted(entity.getId(), entity.getVersion());
+    }
+
+    private static long hash(long hash, long... values) {
+        for (long value : values) hash = 31 * hash + value;
+
+        return hash;
+    }
+
+    public static long lastModified(BaseEntity entity) {
+        if (entity.getModifyDate() == null) return -1;
+
+        return entity.getModifyDate()
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    // DB 컬럼 정밀도(마이크로초)에 맞춰 저장 직후와 재조회 후의 값이 같도록 한다.
+    private static long toMicros(LocalDateTime dateTime) {
+        if (dateTime == null) return 0;
+
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+}
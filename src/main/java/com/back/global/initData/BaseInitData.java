@@ -5,12 +5,15 @@ import com.back.domain.post.post.service.PostService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.transaction.annotation.Transactional;
 
+// 예시 데이터, 끄면 시작할 때 글 수 조회도 하지 않는다.
 @Configuration
+@ConditionalOnProperty(name = "custom.init-data.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class BaseInitData {
     @Autowired
@@ -33,10 +36,10 @@ public class BaseInitData {
         Post post2 = postService.write("제목 2", "내용 2");
         Post post3 = postService.write("제목 3", "내용 3");
 
-        post1.addComment("댓글 1-1");
-        post1.addComment("댓글 1-2");
-        post1.addComment("댓글 1-3");
-        post2.addComment("댓글 2-1");
-        post2.addComment("댓글 2-2");
+        postService.writeComment(post1, "댓글 1-1");
+        postService.writeComment(post1, "댓글 1-2");
+        postService.writeComment(post1, "댓글 1-3");
+        postService.writeComment(post2, "댓글 2-1");
+        postService.writeComment(post2, "댓글 2-2");
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.back.global.jpa.entity;
 
+import com.back.global.shard.ShardedSequenceId;
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.Getter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,22 +15,29 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
-
 @MappedSuperclass // 엔티티의 부모 클래스에는 이걸 달아야 한다.
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 public abstract class BaseEntity {
+    // 엔티티별 시퀀스(post_seq 등)를 50 단위로 미리 할당받는 pooled 방식, IDENTITY 와 달리 INSERT 를 JDBC 배치로 묶을 수 있다.
+    // 샤드가 여럿이면 id 에 샤드 번호가 담긴다(ShardedSequenceIdGenerator).
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @ShardedSequenceId
     private int id;
 
     @CreatedDate
     private LocalDateTime createDate;
 
+    // 수정일만 바뀌는 변경(댓글 수 증감 등)으로는 version 이 오르지 않도록 제외
     @LastModifiedDate
+    @OptimisticLock(excluded = true)
     private LocalDateTime modifyDate;
 
+    // 낙관적 락, UPDATE/DELETE 가 where version = ? 로 실행되어 그 사이 다른 트랜잭션이 수정했으면 실패한다.
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     @Override
     public boolean equals(Object o) {
         if (o == this) return true;
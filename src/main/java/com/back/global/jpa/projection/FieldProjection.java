@@ -0,0 +1,67 @@
+package com.back.global.jpa.projection;
+
+import com.back.global.exception.ServiceException;
+import jakarta.persistence.Tuple;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// ?fields= 로 요청된 응답 필드만 JPQL select 절에 넣고, 결과를 필드 이름을 키로 하는 Map 으로 돌려준다.
+// 엔티티가 아니라 스칼라 값만 조회하므로 영속성 컨텍스트에 아무것도 올라가지 않는다.
+public class FieldProjection {
+    // 응답 필드 이름 -> JPQL 경로
+    private final Map<String, String> paths;
+
+    public FieldProjection(Map<String, String> paths) {
+        this.paths = paths;
+    }
+
+    // id 는 커서로 쓰이므로 요청하지 않아도 맨 앞에 포함
+    public List<String> parse(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+
+            if (trimmed.isEmpty()) continue;
+
+            if (!paths.containsKey(trimmed))
+                throw new ServiceException(
+                        "400-1",
+                        "%s 은(는) 선택할 수 없는 필드입니다. 가능한 필드: %s".formatted(
+                                trimmed,
+                                paths.keySet().stream().sorted().collect(Collectors.joining(", "))
+                        )
+                );
+
+            names.add(trimmed);
+        }
+
+        return List.copyOf(names);
+    }
+
+    public String select(List<String> names) {
+        return names
+                .stream()
+                .map(name -> paths.get(name) + " as " + name)
+                .collect(Collectors.joining(", "));
+    }
+
+    public List<Map<String, Object>> toMaps(List<Tuple> tuples, List<String> names) {
+        return tuples
+                .stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+
+                    for (String name : names) row.put(name, tuple.get(name));
+
+                    return row;
+                })
+                .toList();
+    }
+}
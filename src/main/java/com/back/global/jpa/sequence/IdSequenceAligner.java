@@ -0,0 +1,112 @@
+package com.back.global.jpa.sequence;
+
+import com.back.global.shard.ShardedSequenceIdGenerator;
+import com.back.global.shard.Shards;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// IDENTITY 로 id 를 만들던 DB 에 시퀀스(post_seq 등)가 새로 생기면 1 부터 시작해서 기존 id 와 겹친다.
+// 요청을 받기 전에 샤드마다 테이블의 max(id) 를 보고, 시퀀스가 그보다 큰 id 를 내도록 앞으로만 옮긴다.
+@Component
+@RequiredArgsConstructor
+public class IdSequenceAligner implements SmartInitializingSingleton {
+    // 시퀀스가 없는 DB(MySQL 등)에서 하이버네이트가 대신 쓰는 테이블의 값 컬럼
+    private static final String TABLE_VALUE_COLUMN = "next_val";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final Shards shards;
+
+    private record Target(
+            String table,
+            String idColumn,
+            String sequence,
+            boolean physicalSequence,
+            ShardedSequenceIdGenerator generator
+    ) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        align();
+    }
+
+    // 옮긴 시퀀스 수를 돌려준다
+    public int align() {
+        List<Target> targets = targets();
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        AtomicInteger aligned = new AtomicInteger();
+
+        shards.forEachShard(() -> {
+            for (Target target : targets) {
+                if (align(target, dialect)) aligned.incrementAndGet();
+            }
+        });
+
+        return aligned.get();
+    }
+
+    private List<Target> targets() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        JdbcServices jdbcServices = sessionFactory.getJdbcServices();
+        List<Target> targets = new ArrayList<>();
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (!(persister instanceof AbstractEntityPersister entityPersister)) return;
+            if (!(persister.getGenerator() instanceof ShardedSequenceIdGenerator generator)) return;
+
+            targets.add(new Target(
+                    entityPersister.getTableName(),
+                    entityPersister.getIdentifierColumnNames()[0],
+                    jdbcServices
+                            .getJdbcEnvironment()
+                            .getQualifiedObjectNameFormatter()
+                            .format(generator.getDatabaseStructure().getPhysicalName(), jdbcServices.getDialect()),
+                    generator.getDatabaseStructure().isPhysicalSequence(),
+                    generator
+            ));
+        });
+
+        return targets;
+    }
+
+    private boolean align(Target target, Dialect dialect) {
+        Long maxId = jdbcTemplate.queryForObject("select max(%s) from %s".formatted(target.idColumn, target.table), Long.class);
+
+        if (maxId == null) return false;
+
+        long minNextValue = target.generator.minNextSequenceValue(maxId, shards.count());
+
+        if (!target.physicalSequence) {
+            // 테이블로 흉내 낸 시퀀스는 다음 값 컬럼이 모자랄 때만 올린다
+            return jdbcTemplate.update(
+                    "update %s set %s = ? where %s < ?".formatted(target.sequence, TABLE_VALUE_COLUMN, TABLE_VALUE_COLUMN),
+                    minNextValue,
+                    minNextValue
+            ) > 0;
+        }
+
+        // 다음 값을 한 번 꺼내서 비교한다, 충분하면 그 한 구간만 버려진다
+        Long nextValue = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(target.sequence),
+                Long.class
+        );
+
+        if (nextValue != null && nextValue >= minNextValue) return false;
+
+        jdbcTemplate.execute("alter sequence %s restart with %d".formatted(target.sequence, minNextValue));
+
+        return true;
+    }
+}
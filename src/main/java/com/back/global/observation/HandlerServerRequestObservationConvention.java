@@ -0,0 +1,27 @@
+package com.back.global.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// http.server.requests 에 "컨트롤러#메서드" handler 태그를 추가한다.
+// uri 템플릿이 같아도 params 로 갈리는 핸들러(getItems, getItemsWithFields 등)를 따로 볼 수 있다.
+public class HandlerServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+    private static final String HANDLER_KEY = "handler";
+    private static final KeyValue HANDLER_NONE = KeyValue.of(HANDLER_KEY, "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private KeyValue handler(ServerRequestObservationContext context) {
+        if (!(context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod))
+            return HANDLER_NONE;
+
+        return KeyValue.of(HANDLER_KEY, handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName());
+    }
+}
@@ -0,0 +1,14 @@
+package com.back.global.observation;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+// Hikari(hikaricp.*), Hibernate(hibernate.*) 메트릭은 의존성과 generate_statistics 설정만으로 자동 등록된다.
+@Configuration
+public class ObservationConfig {
+    @Bean
+    ServerRequestObservationConvention handlerServerRequestObservationConvention() {
+        return new HandlerServerRequestObservationConvention();
+    }
+}
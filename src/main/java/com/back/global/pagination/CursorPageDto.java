@@ -0,0 +1,34 @@
+package com.back.global.pagination;
+
+import com.back.global.jpa.entity.BaseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public record CursorPageDto<T>(
+        List<T> items,
+        Integer nextCursor
+) {
+    // rows 는 size + 1 건까지 조회한 결과, 한 건이 더 있으면 다음 페이지가 존재한다.
+    public static <E extends BaseEntity, T> CursorPageDto<T> of(List<E> rows, int size, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+
+        return new CursorPageDto<>(
+                page.stream().map(mapper).toList(),
+                hasNext ? page.getLast().getId() : null
+        );
+    }
+
+    // 필드를 골라 조회한 행, 항상 포함되는 "id" 를 커서로 쓴다.
+    public static CursorPageDto<Map<String, Object>> ofFields(List<Map<String, Object>> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<Map<String, Object>> page = hasNext ? rows.subList(0, size) : rows;
+
+        return new CursorPageDto<>(
+                List.copyOf(page),
+                hasNext ? (Integer) page.getLast().get("id") : null
+        );
+    }
+}
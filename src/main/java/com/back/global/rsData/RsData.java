@@ -13,6 +13,13 @@ public record RsData<T>(
     }
 
     public RsData(String resultCode, String msg, T data) {
-        this(resultCode, Integer.parseInt(resultCode.split("-", 2)[0]), msg, data);
+        this(resultCode, statusCodeOf(resultCode), msg, data);
+    }
+
+    // "404-1" -> 404, split 처럼 배열과 문자열을 만들지 않고 그 자리에서 앞부분만 해석
+    public static int statusCodeOf(String resultCode) {
+        int dashIndex = resultCode.indexOf('-');
+
+        return Integer.parseInt(resultCode, 0, dashIndex < 0 ? resultCode.length() : dashIndex, 10);
     }
 }
@@ -0,0 +1,46 @@
+package com.back.global.shard;
+
+import java.util.function.Supplier;
+
+// 현재 스레드가 사용할 샤드 번호, ShardRoutingDataSource 가 커넥션을 고를 때 읽는다. 정해지지 않았으면 0번 샤드
+public class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+
+        return shard == null ? 0 : shard;
+    }
+
+    public static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // action 동안만 shard 를 사용하고 이전 샤드로 되돌린다.
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+
+            return null;
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package com.back.global.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// custom.shard.count 가 2 이상이면 spring.datasource 를 0번 샤드, custom.shard.datasources[i] 를 i+1 번 샤드로 쓰고
+// ShardContext 의 샤드로 커넥션을 보낸다. 모든 샤드 풀에 spring.datasource.hikari 설정이 적용된다.
+// 빈 DB 로 시작할 때만 쓸 수 있다, 기존 데이터를 샤드로 옮기는 기능은 없다.
+@Configuration
+@ConditionalOnExpression("${custom.shard.count:1} > 1")
+public class ShardDataSourceConfig {
+    private final Environment environment;
+    private final int shardCount;
+
+    public ShardDataSourceConfig(Environment environment) {
+        if (environment.getProperty("custom.datasource.replica.enabled", Boolean.class, false))
+            throw new IllegalStateException("custom.shard.count 와 custom.datasource.replica.enabled 는 함께 쓸 수 없습니다.");
+
+        this.environment = environment;
+        this.shardCount = environment.getRequiredProperty("custom.shard.count", Integer.class);
+    }
+
+    @Bean
+    ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties) {
+        List<DataSource> shards = new ArrayList<>();
+
+        shards.add(properties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+
+        for (int i = 0; i < shardCount - 1; i++) {
+            String prefix = "custom.shard.datasources[%d].".formatted(i);
+
+            shards.add(DataSourceBuilder
+                    .create()
+                    .type(HikariDataSource.class)
+                    .url(environment.getRequiredProperty(prefix + "url"))
+                    .username(environment.getProperty(prefix + "username"))
+                    .password(environment.getProperty(prefix + "password"))
+                    .driverClassName(environment.getProperty(prefix + "driver-class-name"))
+                    .build());
+        }
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            HikariDataSource dataSource = (HikariDataSource) shards.get(shard);
+
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("shard-" + shard);
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    // 샤딩 없이 쌓인 글은 모두 0번 샤드에 있지만 id % 샤드 수 로는 다른 샤드를 가리켜서 조회/수정/삭제가 엉뚱한 샤드로 간다.
+    // 그런 행이 하나라도 있으면 요청을 받기 전에 기동을 멈춘다.
+    @Bean
+    SmartInitializingSingleton shardDataCheck(
+            ShardRoutingDataSource shardRoutingDataSource,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRoutingDataSource);
+
+        return () -> {
+            entityManagerFactory.getMetamodel(); // 백그라운드 부트스트랩이면 스키마 갱신이 끝날 때까지 기다린다
+
+            for (int shard = 0; shard < shardCount; shard++) {
+                for (String table : List.of("post", "post_comment")) {
+                    int s = shard;
+                    Integer misplacedCount = ShardContext.call(shard, () -> jdbcTemplate.queryForObject(
+                            "select count(*) from %s where mod(id, ?) <> ?".formatted(table),
+                            Integer.class,
+                            shardCount,
+                            s
+                    ));
+
+                    if (misplacedCount != null && misplacedCount > 0)
+                        throw new IllegalStateException(
+                                "%d번 샤드의 %s 에 다른 샤드를 가리키는 id 가 %d건 있습니다. 샤딩은 빈 DB 로 시작할 때만 쓸 수 있습니다."
+                                        .formatted(shard, table, misplacedCount)
+                        );
+                }
+            }
+        };
+    }
+
+    // open-in-view 세션이 처음 고른 샤드의 커넥션을 요청 내내 쥐고 있지 않도록 트랜잭션마다 반납,
+    // 나머지 샤드의 스키마 갱신과 id 생성기가 쓸 샤드 수도 여기서 넘긴다.
+    @Bean
+    HibernatePropertiesCustomizer shardHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(
+                    AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
+            );
+            hibernateProperties.put(ShardedSequenceIdGenerator.SHARD_COUNT, shardCount);
+            hibernateProperties.put(
+                    JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new ShardSchemaIntegrator(shardCount))
+            );
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.back.global.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ShardContext 의 샤드 번호로 커넥션을 고른다.
+// 트랜잭션 시작보다 샤드가 늦게 정해질 수 있으므로 LazyConnectionDataSourceProxy 로 감싸서 첫 SQL 시점에 고르게 한다.
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+
+        for (int shard = 0; shard < shards.size(); shard++) targets.put(shard, shards.get(shard));
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.getFirst());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    // 샤드별 커넥션 풀은 빈이 아니므로 여기서 닫는다.
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) closeable.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.back.global.shard;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+// 글 API 요청의 샤드를 컨트롤러의 트랜잭션이 시작되기 전에 정한다.
+// 경로에 글 id 가 있으면 그 글의 샤드, 없는 쓰기(작성, 일괄 작성, 가져오기)는 돌아가며 고른 샤드,
+// 없는 읽기(목록, 검색, 내보내기)는 PostService 가 모든 샤드에서 모은다.
+@Component
+@ConditionalOnExpression("${custom.shard.count:1} > 1")
+@RequiredArgsConstructor
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+    private final Shards shards;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+        String postId = pathVariables == null ? null : pathVariables.getOrDefault("postId", pathVariables.get("id"));
+
+        if (postId != null) {
+            try {
+                ShardContext.set(shards.shardOf(Integer.parseInt(postId)));
+            } catch (NumberFormatException e) {
+                // 숫자가 아니면 컨트롤러의 파라미터 바인딩이 400 으로 응답한다.
+            }
+        } else if (!"GET".equals(request.getMethod())) {
+            ShardContext.set(shards.nextWriteShard());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+}
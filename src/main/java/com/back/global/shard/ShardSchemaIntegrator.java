@@ -0,0 +1,53 @@
+package com.back.global.shard;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.hbm2ddl.SchemaValidator;
+import org.hibernate.tool.schema.TargetType;
+
+import java.util.EnumSet;
+
+// ddl-auto 는 기본 커넥션(0번 샤드)에만 적용되므로 나머지 샤드에도 같은 동작(update, validate)을 여기서 실행한다.
+// 운영에서 ddl-auto 를 none 으로 두면 아무것도 하지 않고, create 처럼 샤드마다 따로 맞출 수 없는 값이면 기동을 멈춘다.
+public class ShardSchemaIntegrator implements Integrator {
+    private final int shardCount;
+
+    public ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        Object ddlAuto = sessionFactory.getProperties().get(AvailableSettings.HBM2DDL_AUTO);
+
+        String action = ddlAuto == null ? "none" : ddlAuto.toString().trim();
+
+        Runnable schemaAction = switch (action) {
+            case "none", "" -> null;
+            case "update" -> () -> new SchemaUpdate().execute(
+                    EnumSet.of(TargetType.DATABASE),
+                    metadata,
+                    sessionFactory.getServiceRegistry()
+            );
+            case "validate" -> () -> new SchemaValidator().validate(metadata, sessionFactory.getServiceRegistry());
+            default -> throw new IllegalStateException(
+                    "샤드가 여럿이면 spring.jpa.hibernate.ddl-auto 는 none, update, validate 만 쓸 수 있습니다: " + action
+            );
+        };
+
+        if (schemaAction == null) return;
+
+        for (int shard = 1; shard < shardCount; shard++) {
+            ShardContext.run(shard, schemaAction);
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
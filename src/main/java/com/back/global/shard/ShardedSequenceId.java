@@ -0,0 +1,17 @@
+package com.back.global.shard;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+// 엔티티별 시퀀스(post_seq 등)로 id 를 만들되, 샤드가 여럿이면 id 에 샤드 번호를 담는다.
+@IdGeneratorType(ShardedSequenceIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ShardedSequenceId {
+}
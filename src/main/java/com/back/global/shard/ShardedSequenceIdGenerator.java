@@ -0,0 +1,116 @@
+package com.back.global.shard;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// 샤드가 하나면 기존 pooled 시퀀스 생성기와 똑같이 동작한다.
+// 샤드가 여럿이면 현재 샤드 DB 의 시퀀스에서 increment 크기만큼의 구간을 샤드별로 받아 쓰고, id = 시퀀스 값 * 샤드 수 + 샤드 번호 로 만든다.
+// 샤드마다 시퀀스가 따로 있어도 id 가 겹치지 않고, id 만 보고 샤드를 알 수 있다(Shards.shardOf).
+public class ShardedSequenceIdGenerator extends SequenceStyleGenerator {
+    // 하이버네이트 설정으로 넘겨받는 샤드 수, 없으면 1
+    public static final String SHARD_COUNT = "custom.shard.count";
+    // @IdGeneratorType 에는 allocationSize 가 전달되지 않아 기본값 1 이 되므로 직접 지정
+    public static final int INCREMENT_SIZE = 50;
+
+    private final Map<Integer, Pool> pools = new ConcurrentHashMap<>();
+    private volatile int shardCount;
+
+    public ShardedSequenceIdGenerator(
+            ShardedSequenceId config,
+            Member member,
+            CustomIdGeneratorCreationContext creationContext
+    ) {
+    }
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) {
+        parameters.put(INCREMENT_PARAM, String.valueOf(INCREMENT_SIZE));
+
+        super.configure(creationContext, parameters);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        int shardCount = shardCount(session);
+
+        if (shardCount == 1) return super.generate(session, object);
+
+        int shard = ShardContext.current();
+        long value = pools
+                .computeIfAbsent(shard, key -> new Pool())
+                .next(getDatabaseStructure().getIncrementSize(), () -> nextSequenceValue(session));
+
+        return Math.toIntExact(value * shardCount + shard);
+    }
+
+    // 이미 있는 id 중 가장 큰 값이 maxId 일 때, 그보다 큰 id 만 나오려면 시퀀스가 다음에 돌려줘야 하는 최소값
+    // 샤드가 하나면 pooled 방식이라 시퀀스 값 v 로 (v - increment, v] 를 쓰고, 여럿이면 [v, v + increment) 에 샤드 수를 곱해 쓴다.
+    public long minNextSequenceValue(long maxId, int shardCount) {
+        if (shardCount == 1) return maxId + getDatabaseStructure().getIncrementSize();
+
+        return maxId / shardCount + 1;
+    }
+
+    private int shardCount(SharedSessionContractImplementor session) {
+        if (shardCount == 0) {
+            Object value = session.getFactory().getProperties().get(SHARD_COUNT);
+
+            shardCount = value == null ? 1 : Integer.parseInt(value.toString());
+        }
+
+        return shardCount;
+    }
+
+    // 현재 세션의 커넥션(= 현재 샤드)으로 시퀀스의 다음 값을 조회
+    private long nextSequenceValue(SharedSessionContractImplementor session) {
+        JdbcServices jdbcServices = session.getJdbcServices();
+        String sequenceName = jdbcServices
+                .getJdbcEnvironment()
+                .getQualifiedObjectNameFormatter()
+                .format(getDatabaseStructure().getPhysicalName(), jdbcServices.getDialect());
+        String sql = jdbcServices.getDialect().getSequenceSupport().getSequenceNextValString(sequenceName);
+
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+
+        try {
+            ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement, sql);
+            resultSet.next();
+
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw jdbcServices.getSqlExceptionHelper().convert(e, "샤드 시퀀스 조회 실패", sql);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+
+    // 시퀀스 값 v 하나로 [v, v + incrementSize) 구간을 쓴다, 시퀀스는 incrementSize 씩 증가하므로 구간이 겹치지 않는다.
+    private static class Pool {
+        private long next;
+        private long limit;
+
+        synchronized long next(int incrementSize, LongSupplier nextSequenceValue) {
+            if (next >= limit) {
+                next = nextSequenceValue.getAsLong();
+                limit = next + incrementSize;
+            }
+
+            return next++;
+        }
+    }
+}
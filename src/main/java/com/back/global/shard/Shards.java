@@ -0,0 +1,108 @@
+package com.back.global.shard;
+
+import com.back.global.sqlStats.SqlStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// 글과 그 댓글은 글 id 로 정해지는 한 샤드에 저장된다, id 를 샤드 수로 나눈 나머지가 샤드 번호(ShardedSequenceIdGenerator).
+// 샤드가 하나(기본값)면 모든 메서드가 호출한 스레드와 트랜잭션에서 그대로 실행된다.
+@Component
+public class Shards {
+    private final int count;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger nextWriteShard = new AtomicInteger();
+
+    public Shards(
+            @Value("${custom.shard.count:1}") int count,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.count = count;
+
+        // 호출한 쪽 트랜잭션의 커넥션은 이미 다른 샤드에 묶여 있을 수 있으므로 샤드마다 새 트랜잭션을 연다.
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public int shardOf(int postId) {
+        return Math.floorMod(postId, count);
+    }
+
+    // 새 글을 저장할 샤드, 돌아가면서 고른다.
+    public int nextWriteShard() {
+        return Math.floorMod(nextWriteShard.getAndIncrement(), count);
+    }
+
+    // 모든 샤드에서 action 을 각자의 읽기 전용 트랜잭션으로 동시에 실행하고 샤드 순서대로 결과를 모은다.
+    // 샤드가 여럿이면 결과 엔티티는 준영속 상태다. 샤드별 스레드에서 실행된 SQL 도 호출한 요청의 SqlStats 에 센다.
+    public <T> List<T> scatter(Supplier<T> action) {
+        if (!isSharded()) return List.of(action.get());
+
+        SqlStats sqlStats = SqlStats.current();
+
+        List<CompletableFuture<T>> futures = IntStream
+                .range(0, count)
+                .mapToObj(shard -> CompletableFuture.supplyAsync(
+                        () -> SqlStats.call(sqlStats, () -> ShardContext.call(
+                                shard,
+                                () -> readOnlyTransactionTemplate.execute(status -> action.get())
+                        )),
+                        executor
+                ))
+                .toList();
+
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+
+            throw e;
+        }
+    }
+
+    // 샤드마다 차례로 action 을 실행, 트랜잭션은 action 이 정한다.
+    public void forEachShard(Runnable action) {
+        if (!isSharded()) {
+            action.run();
+
+            return;
+        }
+
+        for (int shard = 0; shard < count; shard++) ShardContext.run(shard, action);
+    }
+
+    // forEachShard 와 같지만 샤드가 여럿이면 샤드마다 새 읽기 전용 트랜잭션에서 실행, 하나면 호출한 쪽 트랜잭션을 그대로 쓴다.
+    public void forEachShardInTransaction(Runnable action) {
+        forEachShard(() -> {
+            if (!isSharded()) action.run();
+            else readOnlyTransactionTemplate.executeWithoutResult(status -> action.run());
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.close();
+    }
+}
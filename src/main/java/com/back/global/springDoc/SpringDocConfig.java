@@ -3,10 +3,13 @@ package com.back.global.springDoc;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springdoc.core.models.GroupedOpenApi;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+// springdoc 과 같은 조건, 문서를 끈 환경(prod)에서는 그룹 빈도 만들지 않는다.
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 @OpenAPIDefinition(info = @Info(title = "API 서버", version = "beta", description = "API 서버 문서입니다."))
 public class SpringDocConfig {
     @Bean
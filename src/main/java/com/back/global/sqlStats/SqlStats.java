@@ -0,0 +1,91 @@
+package com.back.global.sqlStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 한 요청 동안 실행된 SQL 문 수, JDBC 실행 시간, 같은 SELECT 의 반복 횟수를 모은다.
+// 요청 스레드의 ThreadLocal 에 두고 SqlStatsStatementInspector, SqlStatsSessionEventListener 가 채운다.
+// Shards.scatter 가 샤드별 스레드에도 같은 SqlStats 를 넘겨주므로 여러 스레드에서 동시에 더해질 수 있다.
+public class SqlStats {
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private final AtomicLong jdbcNanos = new AtomicLong();
+    // 파라미터는 ? 로 남아 있으므로 같은 키는 파라미터만 다른 같은 쿼리
+    private final Map<String, Integer> selectCounts = new ConcurrentHashMap<>();
+
+    public static SqlStats start() {
+        SqlStats sqlStats = new SqlStats();
+        CURRENT.set(sqlStats);
+
+        return sqlStats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // 다른 스레드에서 action 을 실행하는 동안 호출한 쪽의 sqlStats 에 모으고, 끝나면 이전 값으로 되돌린다.
+    public static <T> T call(SqlStats sqlStats, Supplier<T> action) {
+        SqlStats previous = CURRENT.get();
+
+        if (sqlStats == null) CURRENT.remove();
+        else CURRENT.set(sqlStats);
+
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    void addStatement(String sql) {
+        statementCount.incrementAndGet();
+
+        if (isSelect(sql)) selectCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void addJdbcNanos(long nanos) {
+        jdbcNanos.addAndGet(nanos);
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    public long getJdbcMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(jdbcNanos.get());
+    }
+
+    // 같은 SELECT 가 threshold 번 이상 실행되었으면 N+1 로 본다. 배치로 묶인 INSERT/UPDATE 는 제외
+    public Map<String, Integer> findRepeatedSelects(int threshold) {
+        return selectCounts
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    // use_sql_comments 로 붙는 /* ... */ 주석 다음의 첫 단어로 판단
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+
+        if (statement.startsWith("/*")) {
+            int commentEnd = statement.indexOf("*/");
+
+            if (commentEnd != -1) statement = statement.substring(commentEnd + 2).stripLeading();
+        }
+
+        return statement.regionMatches(true, 0, "select", 0, 6);
+    }
+}
@@ -0,0 +1,19 @@
+package com.back.global.sqlStats;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "custom.sql-stats.enabled", havingValue = "true")
+public class SqlStatsConfig {
+    @Bean
+    HibernatePropertiesCustomizer sqlStatsHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatsStatementInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatsSessionEventListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.back.global.sqlStats;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// 요청마다 SqlStats 를 시작하고, 끝나면 SQL 문 수와 JDBC 시간을 로그로 남긴다.
+// 같은 SELECT 가 여러 번 실행되었으면 N+1 의심으로 경고한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.sql-stats.enabled", havingValue = "true")
+public class SqlStatsFilter extends OncePerRequestFilter {
+    // 테스트에서 요청이 끝난 뒤 결과를 꺼낼 수 있도록 요청 속성에도 둔다.
+    public static final String ATTRIBUTE_NAME = SqlStats.class.getName();
+
+    private final int nPlusOneThreshold;
+
+    public SqlStatsFilter(@Value("${custom.sql-stats.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStats sqlStats = SqlStats.start();
+        request.setAttribute(ATTRIBUTE_NAME, sqlStats);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStats.end();
+
+            log(request, sqlStats);
+        }
+    }
+
+    private void log(HttpServletRequest request, SqlStats sqlStats) {
+        log.debug(
+                "{} {} - SQL {}건, {}ms",
+                request.getMethod(),
+                request.getRequestURI(),
+                sqlStats.getStatementCount(),
+                sqlStats.getJdbcMillis()
+        );
+
+        Map<String, Integer> repeatedSelects = sqlStats.findRepeatedSelects(nPlusOneThreshold);
+
+        repeatedSelects.forEach((sql, count) -> log.warn(
+                "N+1 의심: {} {} - 같은 SELECT 가 {}회 실행되었습니다.\n{}",
+                request.getMethod(),
+                request.getRequestURI(),
+                count,
+                sql
+        ));
+    }
+}
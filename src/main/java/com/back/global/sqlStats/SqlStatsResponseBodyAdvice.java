@@ -0,0 +1,43 @@
+package com.back.global.sqlStats;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 바디를 쓰기 직전, 즉 응답이 커밋되기 전에 지금까지의 SQL 문 수와 JDBC 시간을 헤더로 내보낸다.
+// 응답 스트림에 직접 쓰는 엔드포인트(export, import)는 로그로만 남는다.
+@ControllerAdvice
+@ConditionalOnProperty(name = "custom.sql-stats.enabled", havingValue = "true")
+public class SqlStatsResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    public static final String COUNT_HEADER = "X-Sql-Count";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        SqlStats sqlStats = SqlStats.current();
+
+        if (sqlStats != null) {
+            response.getHeaders().set(COUNT_HEADER, String.valueOf(sqlStats.getStatementCount()));
+            response.getHeaders().set(TIME_HEADER, String.valueOf(sqlStats.getJdbcMillis()));
+        }
+
+        return body;
+    }
+}
@@ -0,0 +1,34 @@
+package com.back.global.sqlStats;
+
+import org.hibernate.SessionEventListener;
+
+// 세션마다 하나씩 만들어지므로 시작 시각을 필드에 둬도 된다.
+public class SqlStatsSessionEventListener implements SessionEventListener {
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addElapsed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addElapsed();
+    }
+
+    private void addElapsed() {
+        SqlStats sqlStats = SqlStats.current();
+
+        if (sqlStats != null) sqlStats.addJdbcNanos(System.nanoTime() - startedAt);
+    }
+}
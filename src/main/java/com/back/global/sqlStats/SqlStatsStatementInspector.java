@@ -0,0 +1,15 @@
+package com.back.global.sqlStats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate 가 PreparedStatement 를 만들 때마다 호출된다, SQL 은 바꾸지 않고 세기만 한다.
+public class SqlStatsStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        SqlStats sqlStats = SqlStats.current();
+
+        if (sqlStats != null) sqlStats.addStatement(sql);
+
+        return sql;
+    }
+}
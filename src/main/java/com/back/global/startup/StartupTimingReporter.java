@@ -0,0 +1,71 @@
+package com.back.global.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+// 시작이 끝나면 오래 걸린 시작 단계를 로그로 남긴다, 빈 하나가 시작을 느리게 만드는 회귀를 바로 알아보기 위함
+// BackApplication 이 BufferingApplicationStartup 을 쓸 때만 동작하고, 전체 타임라인은 /actuator/startup
+@Component
+@Slf4j
+public class StartupTimingReporter {
+    private final ApplicationStartup applicationStartup;
+    private final int top;
+
+    public StartupTimingReporter(
+            ApplicationStartup applicationStartup,
+            @Value("${custom.startup-report.top:15}") int top
+    ) {
+        this.applicationStartup = applicationStartup;
+        this.top = top;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup bufferingApplicationStartup)) return;
+
+        // drain 하지 않아서 /actuator/startup 에서도 같은 타임라인을 볼 수 있다.
+        List<String> steps = slowestSteps(bufferingApplicationStartup.getBufferedTimeline(), top);
+
+        log.info(
+                "시작 완료 {}ms, 오래 걸린 단계 상위 {}건(하위 단계 시간 포함)\n{}",
+                event.getTimeTaken().toMillis(),
+                steps.size(),
+                String.join("\n", steps)
+        );
+    }
+
+    static List<String> slowestSteps(StartupTimeline timeline, int top) {
+        return timeline
+                .getEvents()
+                .stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .map(event -> "%6dms %s%s".formatted(
+                        event.getDuration().toMillis(),
+                        event.getStartupStep().getName(),
+                        tags(event.getStartupStep().getTags())
+                ))
+                .toList();
+    }
+
+    private static String tags(StartupStep.Tags tags) {
+        String joined = StreamSupport
+                .stream(tags.spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", "));
+
+        return joined.isEmpty() ? "" : " [" + joined + "]";
+    }
+}
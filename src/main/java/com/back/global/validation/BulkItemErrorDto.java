@@ -0,0 +1,7 @@
+package com.back.global.validation;
+
+public record BulkItemErrorDto(
+        int index,
+        String msg
+) {
+}
@@ -0,0 +1,54 @@
+package com.back.global.validation;
+
+import com.back.global.exception.ServiceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 배열 요청 본문의 각 항목을 검증하고, 실패한 항목들을 인덱스와 함께 모아서 한 번에 응답한다.
+@Component
+@RequiredArgsConstructor
+public class BulkValidator {
+    private final Validator validator;
+
+    public void validate(List<?> items, int maxSize) {
+        if (items == null || items.isEmpty())
+            throw new ServiceException("400-1", "요청 항목이 비어있습니다.");
+
+        if (items.size() > maxSize)
+            throw new ServiceException("400-1", "한 번에 최대 %d건까지 요청할 수 있습니다.".formatted(maxSize));
+
+        List<BulkItemErrorDto> errors = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            String message = validate(items.get(i));
+
+            if (message != null) errors.add(new BulkItemErrorDto(i, message));
+        }
+
+        if (!errors.isEmpty())
+            throw new ServiceException("400-1", "%d건의 항목이 올바르지 않습니다.".formatted(errors.size()), errors);
+    }
+
+    // 단건 요청과 같은 "필드-코드-메시지" 형식, 문제가 없으면 null
+    public String validate(Object item) {
+        if (item == null) return "항목이 비어있습니다.";
+
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+
+        if (violations.isEmpty()) return null;
+
+        return violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + "-" + violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName() + "-" + violation.getMessage())
+                .sorted(Comparator.comparing(String::toString))
+                .collect(Collectors.joining("\n"));
+    }
+}
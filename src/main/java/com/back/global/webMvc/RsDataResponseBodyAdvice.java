@@ -0,0 +1,35 @@
+package com.back.global.webMvc;
+
+import com.back.global.rsData.RsData;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 컨트롤러가 RsData 를 반환하면 응답 바디를 쓰기 직전에 그 statusCode 를 응답 상태 코드로 설정
+// 컨트롤러를 프록시로 감싸는 AOP 없이, 메시지 컨버터가 바디를 쓰는 시점에 한 번만 처리된다.
+@ControllerAdvice
+public class RsDataResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return RsData.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (body instanceof RsData<?> rsData) response.setStatusCode(HttpStatusCode.valueOf(rsData.statusCode()));
+
+        return body;
+    }
+}
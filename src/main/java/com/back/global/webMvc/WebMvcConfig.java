@@ -1,11 +1,19 @@
 package com.back.global.webMvc;
 
+import com.back.global.shard.ShardRoutingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
+    // 샤드가 여럿일 때만 존재
+    private final ObjectProvider<ShardRoutingInterceptor> shardRoutingInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry
@@ -15,4 +23,11 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        shardRoutingInterceptor.ifAvailable(interceptor -> registry
+                .addInterceptor(interceptor)
+                .addPathPatterns("/api/v1/posts", "/api/v1/posts/**"));
+    }
 }
@@ -2,20 +2,32 @@ package com.back.domain.post.post.controller;
 
 import com.back.domain.post.post.entity.Post;
 import com.back.domain.post.post.service.PostService;
+import com.back.domain.post.post.service.PostViewCounter;
+import com.back.domain.post.postComment.entity.PostComment;
+import com.back.global.httpCache.EntityTags;
+import com.back.global.sqlStats.SqlStatsResponseBodyAdvice;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static com.back.global.sqlStats.SqlStatsMatchers.maxSqlCount;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +41,12 @@ class ApiV1PostControllerTest {
     private MockMvc mvc;
     @Autowired
     private PostService postService;
+    @Autowired
+    private PostViewCounter postViewCounter;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     @DisplayName("글 작성")
@@ -53,11 +71,13 @@ class ApiV1PostControllerTest {
                 .andExpect(status().isCreated()) // 201 Created
                 .andExpect(jsonPath("$.resultCode").value("201-1"))
                 .andExpect(jsonPath("msg").value("%d번 글이 작성되었습니다.".formatted(post.getId())))
-                .andExpect(jsonPath("$.data.id").value(post.getId()))
-                .andExpect(jsonPath("$.data.createdDate").value(Matchers.startsWith(post.getCreateDate().toString().substring(0, 20))))
-                .andExpect(jsonPath("$.data.modifiedDate").value(Matchers.startsWith(post.getModifyDate().toString().substring(0, 20))))
-                .andExpect(jsonPath("$.data.title").value("제목"))
-                .andExpect(jsonPath("$.data.content").value("내용"));
+                .andExpect(jsonPath("$.data.totalCount").value(postService.count()))
+                .andExpect(jsonPath("$.data.post.id").value(post.getId()))
+                .andExpect(jsonPath("$.data.post.createdDate").value(Matchers.startsWith(post.getCreateDate().toString().substring(0, 20))))
+                .andExpect(jsonPath("$.data.post.modifiedDate").value(Matchers.startsWith(post.getModifyDate().toString().substring(0, 20))))
+                .andExpect(jsonPath("$.data.post.title").value("제목"))
+                .andExpect(jsonPath("$.data.post.content").value("내용"))
+                .andExpect(jsonPath("$.data.post.commentsCount").value(0));
     }
 
     @Test
@@ -201,11 +221,15 @@ class ApiV1PostControllerTest {
                 .andExpect(handler().handlerType(ApiV1PostController.class))
                 .andExpect(handler().methodName("getItem"))
                 .andExpect(status().isOk())
+                .andExpect(maxSqlCount(1))
+                .andExpect(header().exists(SqlStatsResponseBodyAdvice.COUNT_HEADER))
+                .andExpect(header().exists(SqlStatsResponseBodyAdvice.TIME_HEADER))
                 .andExpect(jsonPath("$.id").value(post.getId()))
                 .andExpect(jsonPath("$.createdDate").value(Matchers.startsWith(post.getCreateDate().toString().substring(0, 20))))
                 .andExpect(jsonPath("$.modifiedDate").value(Matchers.startsWith(post.getModifyDate().toString().substring(0, 20))))
                 .andExpect(jsonPath("$.title").value(post.getTitle()))
-                .andExpect(jsonPath("$.content").value(post.getContent()));
+                .andExpect(jsonPath("$.content").value(post.getContent()))
+                .andExpect(jsonPath("$.commentsCount").value(post.getCommentsCount()));
 
         /*
         // 이렇게 각 JSON 필드에 올바른 형식의 데이터가 들어있는지만 체크해도 OK
@@ -246,34 +270,614 @@ class ApiV1PostControllerTest {
                         get("/api/v1/posts")
                 ).andDo(print());
 
-        List<Post> posts = postService.findAll();
+        List<Post> posts = postService.findPage(null, 30);
 
         resultActions
                 .andExpect(handler().handlerType(ApiV1PostController.class))
                 .andExpect(handler().methodName("getItems"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(posts.size()));
-
-        /*
-        // posts.size()번째 인덱스가 존재하지 않는지 확인
-        resultActions
-                .andExpect(jsonPath("$[%d]".formatted(posts.size())).doesNotExist());
-
-        // 아래와 같이 전체가 배열인지, 비어있지 않은지, 크기가 posts.size()인지 확인할 수도 있음
-        resultActions
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isNotEmpty())
-                .andExpect(jsonPath("$", Matchers.hasSize(posts.size())));
-         */
+                .andExpect(maxSqlCount(1))
+                .andExpect(jsonPath("$.items.length()").value(posts.size()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
         for (int i = 0; i < posts.size(); i++) {
             Post post = posts.get(i);
             resultActions
-                    .andExpect(jsonPath("$[%d].id".formatted(i)).value(post.getId()))
-                    .andExpect(jsonPath("$[%d].createdDate".formatted(i)).value(Matchers.startsWith(post.getCreateDate().toString().substring(0, 20))))
-                    .andExpect(jsonPath("$[%d].modifiedDate".formatted(i)).value(Matchers.startsWith(post.getModifyDate().toString().substring(0, 20))))
-                    .andExpect(jsonPath("$[%d].title".formatted(i)).value(post.getTitle()))
-                    .andExpect(jsonPath("$[%d].content".formatted(i)).value(post.getContent()));
+                    .andExpect(jsonPath("$.items[%d].id".formatted(i)).value(post.getId()))
+                    .andExpect(jsonPath("$.items[%d].createdDate".formatted(i)).value(Matchers.startsWith(post.getCreateDate().toString().substring(0, 20))))
+                    .andExpect(jsonPath("$.items[%d].modifiedDate".formatted(i)).value(Matchers.startsWith(post.getModifyDate().toString().substring(0, 20))))
+                    .andExpect(jsonPath("$.items[%d].title".formatted(i)).value(post.getTitle()))
+                    .andExpect(jsonPath("$.items[%d].content".formatted(i)).value(post.getContent()))
+                    .andExpect(jsonPath("$.items[%d].commentsCount".formatted(i)).value(post.getCommentsCount()));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("글 다건 조회, 커서 페이징")
+    void t10() throws Exception {
+        List<Post> posts = postService.findPage(null, 2);
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .param("size", "1")
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(posts.get(0).getId()))
+                .andExpect(jsonPath("$.nextCursor").value(posts.get(0).getId()));
+
+        mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .param("after", String.valueOf(posts.get(0).getId()))
+                                .param("size", "1")
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(posts.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 변경이 없으면 304")
+    void t11() throws Exception {
+        int id = 1;
+
+        MockHttpServletResponse response = mvc
+                .perform(
+                        get("/api/v1/posts/" + id)
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse();
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/" + id)
+                                .header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG))
+                ).andDo(print())
+                .andExpect(handler().methodName("getItem"))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/" + id)
+                                .header(HttpHeaders.IF_MODIFIED_SINCE, response.getHeader(HttpHeaders.LAST_MODIFIED))
+                ).andDo(print())
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("글 다건 조회, 변경이 없으면 304, 글이 수정되면 200")
+    void t12() throws Exception {
+        String eTag = mvc
+                .perform(
+                        get("/api/v1/posts")
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                ).andDo(print())
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isNotModified());
+
+        postService.write("제목 new", "내용 new");
+
+        mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("글 일괄 작성")
+    void t13() throws Exception {
+        long totalCount = postService.count();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/posts/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        [
+                                            {
+                                                "title": "제목 1",
+                                                "content": "내용 1"
+                                            },
+                                            {
+                                                "title": "제목 2",
+                                                "content": "내용 2"
+                                            }
+                                        ]
+                                        """)
+                ).andDo(print());
+
+        Post post = postService.findLatest().get();
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("bulkWrite"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.resultCode").value("201-1"))
+                .andExpect(jsonPath("$.msg").value("2건의 글이 작성되었습니다."))
+                .andExpect(jsonPath("$.data.totalCount").value(totalCount + 2))
+                .andExpect(jsonPath("$.data.ids.length()").value(2))
+                .andExpect(jsonPath("$.data.ids[1]").value(post.getId()));
+
+        assertThat(post.getTitle()).isEqualTo("제목 2");
+    }
+
+    @Test
+    @DisplayName("글 일괄 작성, 올바르지 않은 항목이 있으면 항목별 검증 결과")
+    void t14() throws Exception {
+        long totalCount = postService.count();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/posts/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        [
+                                            {
+                                                "title": "제목 1",
+                                                "content": "내용 1"
+                                            },
+                                            {
+                                                "title": "",
+                                                "content": "내용 2"
+                                            }
+                                        ]
+                                        """)
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("bulkWrite"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-1"))
+                .andExpect(jsonPath("$.msg").value("1건의 항목이 올바르지 않습니다."))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].index").value(1))
+                .andExpect(jsonPath("$.data[0].msg").value("""
+                        title-NotBlank-must not be blank
+                        title-Size-size must be between 2 and 100
+                        """.stripIndent().trim()));
+
+        assertThat(postService.count()).isEqualTo(totalCount);
+    }
+
+    @Test
+    @DisplayName("글 검색")
+    void t15() throws Exception {
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/search")
+                                .param("q", "내용 2")
+                ).andDo(print());
+
+        Post post = postService.findById(2).get();
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(1))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(post.getId()))
+                .andExpect(jsonPath("$.items[0].title").value(post.getTitle()));
+    }
+
+    @Test
+    @DisplayName("글 내보내기, 한 줄에 글 하나와 그 댓글들")
+    void t16() throws Exception {
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/export")
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        List<String> lines = resultActions
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8)
+                .lines()
+                .toList();
+
+        assertThat(lines).hasSize((int) postService.count());
+
+        Post post = postService.findById(1).get();
+        String line = lines.getFirst();
+
+        assertThat(JsonPath.<Integer>read(line, "$.id")).isEqualTo(post.getId());
+        assertThat(JsonPath.<String>read(line, "$.title")).isEqualTo(post.getTitle());
+        assertThat(JsonPath.<List<Integer>>read(line, "$.comments[*].id"))
+                .containsExactlyElementsOf(post.getComments().stream().map(PostComment::getId).toList());
+    }
+
+    @Test
+    @DisplayName("글 가져오기, 올바른 줄만 저장하고 나머지는 줄 번호와 함께 오류 응답")
+    void t17() throws Exception {
+        long totalCount = postService.count();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/posts/import")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content("""
+                                        {"title": "가져온 제목", "content": "가져온 내용", "comments": [{"content": "댓글 1"}, {"content": "댓글 2"}]}
+                                        {"title": "", "content": "가져온 내용"}
+
+                                        {"title": "가져온 제목"
+                                        """.stripIndent())
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("importItems"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        List<String> lines = resultActions
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8)
+                .lines()
+                .toList();
+
+        assertThat(lines).hasSize(3);
+
+        assertThat(JsonPath.<String>read(lines.get(0), "$.type")).isEqualTo("error");
+        assertThat(JsonPath.<Integer>read(lines.get(0), "$.line")).isEqualTo(2);
+        assertThat(JsonPath.<String>read(lines.get(0), "$.msg")).contains("title-NotBlank");
+
+        assertThat(JsonPath.<String>read(lines.get(1), "$.type")).isEqualTo("error");
+        assertThat(JsonPath.<Integer>read(lines.get(1), "$.line")).isEqualTo(4);
+
+        assertThat(JsonPath.<String>read(lines.get(2), "$.type")).isEqualTo("done");
+        assertThat(JsonPath.<Integer>read(lines.get(2), "$.importedCount")).isEqualTo(1);
+        assertThat(JsonPath.<Integer>read(lines.get(2), "$.errorCount")).isEqualTo(2);
+
+        assertThat(postService.count()).isEqualTo(totalCount + 1);
+
+        Post post = postService.findLatest().get();
+
+        assertThat(post.getTitle()).isEqualTo("가져온 제목");
+        assertThat(post.getCommentsCount()).isEqualTo(2);
+        assertThat(post.getComments()).extracting(PostComment::getContent).containsExactly("댓글 1", "댓글 2");
+    }
+
+    @Test
+    @DisplayName("글 다건조회, 요청한 필드만 응답")
+    void t18() throws Exception {
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .param("fields", "title,createdDate")
+                                .param("size", "2")
+                ).andDo(print());
+
+        List<Post> posts = postService.findPage(null, 3);
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("getItemsWithFields"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(posts.get(0).getId()))
+                .andExpect(jsonPath("$.items[0].title").value(posts.get(0).getTitle()))
+                .andExpect(jsonPath("$.items[0].createdDate").value(Matchers.startsWith(posts.get(0).getCreateDate().toString().substring(0, 20))))
+                .andExpect(jsonPath("$.items[0].content").doesNotExist())
+                .andExpect(jsonPath("$.items[0].modifiedDate").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(posts.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("글 다건조회, 선택할 수 없는 필드를 요청하면 400")
+    void t19() throws Exception {
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .param("fields", "title,password")
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("getItemsWithFields"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-1"))
+                .andExpect(jsonPath("$.msg").value(Matchers.startsWith("password 은(는) 선택할 수 없는 필드입니다.")));
+    }
+
+    @Test
+    @DisplayName("글 단건조회, 댓글 포함")
+    void t20() throws Exception {
+        int id = 1;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/" + id)
+                                .param("include", "comments")
+                                .param("commentsSize", "2")
+                ).andDo(print());
+
+        Post post = postService.findById(id).get();
+        List<PostComment> postComments = post.getComments();
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("getItemWithComments"))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlCount(1))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.id").value(post.getId()))
+                .andExpect(jsonPath("$.title").value(post.getTitle()))
+                .andExpect(jsonPath("$.commentsCount").value(postComments.size()))
+                .andExpect(jsonPath("$.comments.length()").value(2))
+                .andExpect(jsonPath("$.comments[0].id").value(postComments.get(0).getId()))
+                .andExpect(jsonPath("$.comments[1].id").value(postComments.get(1).getId()))
+                .andExpect(jsonPath("$.commentsNextCursor").value(postComments.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("글 단건조회, 댓글 포함, 댓글이 없는 글")
+    void t21() throws Exception {
+        int id = 3;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/" + id)
+                                .param("include", "comments")
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("getItemWithComments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.comments.length()").value(0))
+                .andExpect(jsonPath("$.commentsNextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("글 단건조회, 조회수는 메모리에 모았다가 flush 할 때 DB 에 반영")
+    void t22() throws Exception {
+        int id = 1;
+
+        long viewsCount = postService.getViewsCount(postService.findById(id).get());
+
+        mvc.perform(get("/api/v1/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.viewsCount").value(viewsCount + 1));
+
+        mvc.perform(get("/api/v1/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.viewsCount").value(viewsCount + 2));
+
+        assertThat(postViewCounter.getPending(id)).isGreaterThanOrEqualTo(2);
+
+        postViewCounter.flush();
+        entityManager.clear();
+
+        Post post = postService.findById(id).get();
+
+        assertThat(postViewCounter.getPending(id)).isZero();
+        assertThat(post.getViewsCount()).isEqualTo(viewsCount + 2);
+    }
+
+    @Test
+    @DisplayName("글 수정, If-Match 가 현재 ETag 와 다르면 412, 같으면 수정되고 version 증가")
+    void t23() throws Exception {
+        int id = 1;
+
+        Post post = postService.findById(id).get();
+        String eTag = EntityTags.of(post);
+        long version = post.getVersion();
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/" + id)
+                                .header(HttpHeaders.IF_MATCH, "\"%d-0\"".formatted(id))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                ).andDo(print())
+                .andExpect(handler().methodName("modify"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.resultCode").value("412-1"));
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/" + id)
+                                .header(HttpHeaders.IF_MATCH, eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                ).andDo(print())
+                .andExpect(handler().methodName("modify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"));
+
+        assertThat(postService.findById(id).get().getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("글 수정, 조회 이후 다른 트랜잭션이 먼저 수정했으면 409")
+    void t24() throws Exception {
+        int id = 1;
+
+        // 이 트랜잭션의 영속성 컨텍스트에는 이전 version 의 글이 남아 있다.
+        postService.findById(id).get();
+        jdbcTemplate.update("update post set version = version + 1 where id = ?", id);
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/" + id)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                ).andDo(print())
+                .andExpect(handler().methodName("modify"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.resultCode").value("409-1"));
+    }
+
+    @Test
+    @DisplayName("글 검색, 오프셋이 int 범위를 넘는 페이지는 빈 목록")
+    void t25() throws Exception {
+        mvc
+                .perform(
+                        get("/api/v1/posts/search")
+                                .param("q", "내용 2")
+                                .param("page", "30000000")
+                                .param("size", "100")
+                ).andDo(print())
+                .andExpect(handler().methodName("search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(1))
+                .andExpect(jsonPath("$.page").value(30000000))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("글 수정, 조회 이후 반영된 조회수를 읽어 둔 예전 값으로 덮어쓰지 않는다")
+    void t26() throws Exception {
+        int id = 1;
+
+        // 영속성 컨텍스트에는 조회수가 반영되기 전의 글이 남아 있다.
+        Post post = postService.findById(id).get();
+        long viewsCount = post.getViewsCount();
+
+        postViewCounter.increment(id);
+        postViewCounter.increment(id);
+        postViewCounter.flush();
+
+        postService.modify(post, "제목 new", "내용 new");
+        entityManager.flush();
+
+        assertThat(
+                jdbcTemplate.queryForObject("select views_count from post where id = ?", Long.class, id)
+        ).isEqualTo(viewsCount + 2);
+    }
+
+    @Test
+    @DisplayName("글 수정, 조회 이후 댓글이 달렸어도 If-Match 의 ETag 가 같은 version 이면 수정된다")
+    void t27() throws Exception {
+        int id = 1;
+
+        String eTag = mvc
+                .perform(get("/api/v1/posts/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc
+                .perform(
+                        post("/api/v1/posts/%d/comments".formatted(id))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "content": "댓글 new"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isCreated());
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/" + id)
+                                .header(HttpHeaders.IF_MATCH, eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                ).andDo(print())
+                .andExpect(handler().methodName("modify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"));
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 다른 조회가 flush 된 뒤 이전 ETag 로 다시 조회하면 304 가 아니라 늘어난 조회수")
+    void t28() throws Exception {
+        int id = 1;
+
+        MockHttpServletResponse response = mvc
+                .perform(get("/api/v1/posts/" + id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        long viewsCount = ((Number) JsonPath.read(response.getContentAsString(StandardCharsets.UTF_8), "$.viewsCount")).longValue();
+
+        // 자기 조회만 있었으면 304
+        mvc
+                .perform(get("/api/v1/posts/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // 다른 사용자의 조회
+        mvc
+                .perform(get("/api/v1/posts/" + id))
+                .andExpect(status().isOk());
+
+        postViewCounter.flush();
+        entityManager.clear();
+
+        mvc
+                .perform(get("/api/v1/posts/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+                .andExpect(jsonPath("$.viewsCount").value(viewsCount + 3));
+    }
+
+    @Test
+    @DisplayName("글 검색, 한 글자 한글 검색어는 그 글자가 들어간 단어의 글을 찾는다")
+    void t29() throws Exception {
+        mvc
+                .perform(
+                        get("/api/v1/posts/search")
+                                .param("q", "용")
+                ).andDo(print())
+                .andExpect(handler().methodName("search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", Matchers.hasItems(1, 2, 3)));
+    }
+}
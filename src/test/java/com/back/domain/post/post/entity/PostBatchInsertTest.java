@@ -0,0 +1,160 @@
+package com.back.domain.post.post.entity;
+
+import com.back.domain.post.post.service.PostService;
+import com.back.domain.post.postComment.entity.PostComment;
+import com.back.global.shard.ShardedSequenceIdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PostBatchInsertTest {
+    private static final Pattern INSERT_POST_COMMENT = Pattern.compile("insert\\s+into\\s+post_comment\\b");
+    private static final AtomicInteger insertPostCommentBatchCount = new AtomicInteger();
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    @DisplayName("댓글 N개 추가, INSERT 는 ceil(N / batch_size) 번의 배치로 실행")
+    void t1() {
+        Post post = postService.write("제목", "내용");
+        postService.flush();
+
+        int n = batchSize * 2 + 20;
+
+        for (int i = 1; i <= n; i++) {
+            post.addComment("댓글 %d".formatted(i));
+        }
+
+        insertPostCommentBatchCount.set(0);
+        postService.flush();
+
+        assertThat(insertPostCommentBatchCount.get()).isEqualTo((n + batchSize - 1) / batchSize);
+        assertThat(post.getComments()).allMatch(comment -> comment.getId() > 0);
+    }
+
+    @Test
+    @DisplayName("id 시퀀스는 50 단위로 증가하고, 생성기도 50 개씩 미리 할당받는다")
+    void t2() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        for (Class<?> entityClass : List.of(Post.class, PostComment.class)) {
+            SequenceStyleGenerator generator = (SequenceStyleGenerator) sessionFactory
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(entityClass)
+                    .getGenerator();
+
+            assertThat(generator.getDatabaseStructure().getIncrementSize()).isEqualTo(ShardedSequenceIdGenerator.INCREMENT_SIZE);
+            assertThat(generator.getOptimizer().getIncrementSize()).isEqualTo(ShardedSequenceIdGenerator.INCREMENT_SIZE);
+        }
+
+        assertThat(jdbcTemplate.queryForList(
+                "select increment from information_schema.sequences where lower(sequence_name) in ('post_seq', 'post_comment_seq')",
+                Long.class
+        )).containsOnly((long) ShardedSequenceIdGenerator.INCREMENT_SIZE).hasSize(2);
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        static BeanPostProcessor batchCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) return new BatchCountingDataSource(dataSource);
+
+                    return bean;
+                }
+            };
+        }
+    }
+
+    // post_comment INSERT 문의 executeBatch 호출 횟수(실제 DB 왕복 수)를 센다.
+    static class BatchCountingDataSource extends DelegatingDataSource {
+        BatchCountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+
+                        if (result instanceof PreparedStatement statement
+                                && method.getName().equals("prepareStatement")
+                                && INSERT_POST_COMMENT.matcher(((String) args[0]).toLowerCase()).find()) {
+                            return wrap(statement);
+                        }
+
+                        return result;
+                    }
+            );
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("executeBatch")) insertPostCommentBatchCount.incrementAndGet();
+
+                        return invoke(statement, method, args);
+                    }
+            );
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
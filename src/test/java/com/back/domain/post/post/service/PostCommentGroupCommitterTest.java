@@ -0,0 +1,122 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.entity.Post;
+import com.back.domain.post.postComment.entity.PostComment;
+import com.back.global.exception.ServiceException;
+import com.back.global.shard.Shards;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 커밋된 데이터가 다른 테스트에 보이지 않도록 별도의 메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:db_group_commit_test;MODE=MySQL",
+        "custom.post-comment.group-commit.enabled=true",
+        "custom.post-comment.group-commit.max-wait=50ms"
+})
+@ActiveProfiles("test")
+class PostCommentGroupCommitterTest {
+    @Autowired
+    private PostCommentGroupCommitter postCommentGroupCommitter;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Shards shards;
+
+    @Test
+    @DisplayName("동시에 들어온 댓글 작성이 모여서 커밋되고, 각 요청은 자기 댓글을 돌려받는다")
+    void t1() throws Exception {
+        int postId = 3;
+        int count = 50;
+
+        int commentsCount = transactionTemplate.execute(status -> postService.findById(postId).get().getCommentsCount());
+        long transactionCount = transactionCount();
+
+        List<PostComment> postComments = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(count)) {
+            List<Future<PostComment>> futures = IntStream
+                    .range(0, count)
+                    .mapToObj(i -> executor.submit(() -> postCommentGroupCommitter.write(postId, "댓글 " + i)))
+                    .toList();
+
+            for (Future<PostComment> future : futures) postComments.add(future.get());
+        }
+
+        assertThat(transactionCount() - transactionCount).isLessThan(count);
+
+        assertThat(postComments).extracting(PostComment::getId).doesNotHaveDuplicates().allMatch(id -> id > 0);
+        assertThat(postComments).extracting(PostComment::getContent)
+                .containsExactlyElementsOf(IntStream.range(0, count).mapToObj(i -> "댓글 " + i).toList());
+
+        Post post = transactionTemplate.execute(status -> postService.findById(postId).get());
+
+        assertThat(post.getCommentsCount()).isEqualTo(commentsCount + count);
+    }
+
+    @Test
+    @DisplayName("없는 글에 대한 요청만 실패한다")
+    void t2() {
+        assertThatThrownBy(() -> postCommentGroupCommitter.write(Integer.MAX_VALUE, "댓글"))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("멈춘 뒤에 들어온 요청은 기다리지 않고 503 으로 실패한다")
+    void t3() throws Exception {
+        PostCommentGroupCommitter committer = newCommitter(Duration.ofMillis(50), Duration.ofSeconds(10));
+
+        committer.start();
+        committer.stop();
+
+        assertThatThrownBy(() -> committer.write(3, "댓글"))
+                .isInstanceOf(ServiceException.class)
+                .hasMessageStartingWith("503-1");
+    }
+
+    @Test
+    @DisplayName("커밋 결과를 result-timeout 넘게 기다리면 503 으로 실패한다")
+    void t4() throws Exception {
+        // 배치를 모으는 시간이 결과를 기다리는 시간보다 길다.
+        PostCommentGroupCommitter committer = newCommitter(Duration.ofSeconds(1), Duration.ofMillis(50));
+
+        committer.start();
+
+        try {
+            assertThatThrownBy(() -> committer.write(3, "댓글"))
+                    .isInstanceOf(ServiceException.class)
+                    .hasMessageStartingWith("503-2");
+        } finally {
+            committer.stop();
+        }
+    }
+
+    private PostCommentGroupCommitter newCommitter(Duration maxWait, Duration resultTimeout) {
+        return new PostCommentGroupCommitter(postService, transactionTemplate, shards, true, 100, maxWait, 10, resultTimeout);
+    }
+
+    private long transactionCount() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getTransactionCount();
+    }
+}
@@ -0,0 +1,88 @@
+package com.back.domain.post.post.service;
+
+import com.back.domain.post.post.entity.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시에 커밋되는 트랜잭션이 필요하므로 별도의 메모리 DB 를 사용
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:db_comments_count_test;MODE=MySQL")
+@ActiveProfiles("test")
+class PostCommentsCountTest {
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PostCommentsCountReconciler postCommentsCountReconciler;
+
+    @Test
+    @DisplayName("같은 글에 동시에 댓글을 써도 댓글 수가 실제 댓글 개수와 같다")
+    void t1() throws Exception {
+        int postId = 3;
+        int count = 20;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(count)) {
+            List<Future<?>> futures = IntStream
+                    .range(0, count)
+                    .<Future<?>>mapToObj(i -> executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                            postService.writeComment(postService.findById(postId).get(), "댓글 " + i)
+                    )))
+                    .toList();
+
+            for (Future<?> future : futures) future.get();
+        }
+
+        assertThat(commentsCount(postId)).isEqualTo(count);
+        assertThat(commentsCount(postId)).isEqualTo(
+                jdbcTemplate.queryForObject("select count(*) from post_comment where post_id = ?", Integer.class, postId)
+        );
+
+        // 2차 캐시에 남은 예전 댓글 수가 보이지 않는다
+        int cachedCount = transactionTemplate.execute(status -> postService.findById(postId).get().getCommentsCount());
+        assertThat(cachedCount).isEqualTo(count);
+    }
+
+    @Test
+    @DisplayName("댓글 수 컬럼이 새로 추가되어 0 인 기존 글은 실제 댓글 수로 맞추고, 그 뒤에 댓글을 지워도 음수가 되지 않는다")
+    void t2() {
+        int postId = 2;
+
+        // 컬럼이 추가되기 전부터 댓글이 있던 글
+        jdbcTemplate.update("update post set comments_count = 0 where id = ?", postId);
+        int actualCount = jdbcTemplate.queryForObject("select count(*) from post_comment where post_id = ?", Integer.class, postId);
+
+        assertThat(actualCount).isPositive();
+        assertThat(postCommentsCountReconciler.reconcile()).isPositive();
+        assertThat(commentsCount(postId)).isEqualTo(actualCount);
+        assertThat(postCommentsCountReconciler.reconcile()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Post post = postService.findById(postId).get();
+
+            assertThat(post.getCommentsCount()).isEqualTo(actualCount);
+
+            postService.deleteComment(post, post.getComments().getFirst());
+        });
+
+        assertThat(commentsCount(postId)).isEqualTo(actualCount - 1);
+    }
+
+    private int commentsCount(int postId) {
+        return jdbcTemplate.queryForObject("select comments_count from post where id = ?", Integer.class, postId);
+    }
+}
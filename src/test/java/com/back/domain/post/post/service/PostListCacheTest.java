@@ -0,0 +1,171 @@
+package com.back.domain.post.post.service;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.back.global.sqlStats.SqlStatsMatchers.maxSqlCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 캐시는 읽기 전용 트랜잭션에서만 쓰이므로 테스트 트랜잭션 없이 요청하고, 커밋된 데이터가 다른 테스트에 보이지 않도록 별도의 메모리 DB 를 사용
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:db_post_list_cache_test;MODE=MySQL")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PostListCacheTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Test
+    @DisplayName("같은 페이지를 다시 조회하면 SQL 없이 저장된 바이트를 그대로 응답")
+    void t1() throws Exception {
+        byte[] first = getItems("2");
+
+        double hits = hits();
+        double bytesSaved = meterRegistry.get("post.list.cache.bytes.saved").counter().count();
+
+        byte[] second = mvc
+                .perform(get("/api/v1/posts").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlCount(0))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(hits()).isEqualTo(hits + 1);
+        assertThat(meterRegistry.get("post.list.cache.bytes.saved").counter().count()).isEqualTo(bytesSaved + first.length);
+    }
+
+    @Test
+    @DisplayName("글을 작성하면 다음 조회에 새 글이 보인다")
+    void t2() throws Exception {
+        getItems("30");
+
+        String response = mvc
+                .perform(
+                        post("/api/v1/posts")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "새 글",
+                                            "content": "내용"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        int id = JsonPath.read(response, "$.data.post.id");
+
+        List<Integer> ids = JsonPath.read(new String(getItems("30"), StandardCharsets.UTF_8), "$.items[*].id");
+
+        assertThat(ids.getFirst()).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("댓글을 작성하면 다음 조회에 바뀐 댓글 수가 보인다")
+    void t3() throws Exception {
+        List<Integer> before = JsonPath.read(new String(getItems("30"), StandardCharsets.UTF_8), "$.items[?(@.id == 1)].commentsCount");
+
+        mvc
+                .perform(
+                        post("/api/v1/posts/1/comments")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "content": "새 댓글"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isCreated());
+
+        List<Integer> after = JsonPath.read(new String(getItems("30"), StandardCharsets.UTF_8), "$.items[?(@.id == 1)].commentsCount");
+
+        assertThat(after.getFirst()).isEqualTo(before.getFirst() + 1);
+    }
+
+    @Test
+    @DisplayName("복제 DB 를 쓰면 읽기 전용 트랜잭션이어도 캐시하지 않고 매번 조회")
+    void t4() {
+        PostListCache postListCache = new PostListCache(new SimpleMeterRegistry(), true, 1000, true);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                postListCache.get(null, 2, () -> {
+                    loadCount.incrementAndGet();
+
+                    return new PostListCache.Page("\"etag\"", new byte[0], Set.of());
+                });
+            }
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("조회수가 반영되면 그 글이 담긴 페이지만 비우고, 나머지 페이지는 캐시에서 응답")
+    void t5() throws Exception {
+        int postId = 1; // 가장 오래된 글, 최신 1건 페이지에는 담기지 않는다
+
+        getItems("1");
+        List<Integer> before = JsonPath.read(new String(getItems("100"), StandardCharsets.UTF_8), "$.items[?(@.id == %d)].viewsCount".formatted(postId));
+
+        postViewCounter.increment(postId);
+        postViewCounter.flush();
+
+        double hits = hits();
+
+        mvc
+                .perform(get("/api/v1/posts").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlCount(0));
+
+        assertThat(hits()).isEqualTo(hits + 1);
+
+        List<Integer> after = JsonPath.read(new String(getItems("100"), StandardCharsets.UTF_8), "$.items[?(@.id == %d)].viewsCount".formatted(postId));
+
+        assertThat(hits()).isEqualTo(hits + 1);
+        assertThat(after.getFirst()).isEqualTo(before.getFirst() + 1);
+    }
+
+    private byte[] getItems(String size) throws Exception {
+        return mvc
+                .perform(get("/api/v1/posts").param("size", size))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    private double hits() {
+        return meterRegistry.get("post.list.cache.requests").tag("result", "hit").counter().count();
+    }
+}
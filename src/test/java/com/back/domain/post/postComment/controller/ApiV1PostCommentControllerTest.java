@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,6 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static com.back.global.sqlStats.SqlStatsMatchers.maxSqlCount;
+import static com.back.global.sqlStats.SqlStatsMatchers.noRepeatedSelect;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,6 +54,7 @@ class ApiV1PostCommentControllerTest {
                 .andExpect(handler().handlerType(ApiV1PostCommentController.class))
                 .andExpect(handler().methodName("getItem"))
                 .andExpect(status().isOk())
+                .andExpect(maxSqlCount(1))
                 .andExpect(jsonPath("$.id").value(postComment.getId()))
                 .andExpect(jsonPath("$.createdDate").value(Matchers.startsWith(postComment.getCreateDate().toString().substring(0, 20))))
                 .andExpect(jsonPath("$.modifiedDate").value(Matchers.startsWith(postComment.getModifyDate().toString().substring(0, 20))))
@@ -74,16 +79,19 @@ class ApiV1PostCommentControllerTest {
                 .andExpect(handler().handlerType(ApiV1PostCommentController.class))
                 .andExpect(handler().methodName("getItems"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(comments.size()));
+                .andExpect(maxSqlCount(2))
+                .andExpect(noRepeatedSelect())
+                .andExpect(jsonPath("$.items.length()").value(comments.size()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
         for (int i = 0; i < comments.size(); i++) {
             PostComment postComment = comments.get(i);
 
             resultActions
-                    .andExpect(jsonPath("$[%d].id".formatted(i)).value(postComment.getId()))
-                    .andExpect(jsonPath("$[%d].createdDate".formatted(i)).value(Matchers.startsWith(postComment.getCreateDate().toString().substring(0, 20))))
-                    .andExpect(jsonPath("$[%d].modifiedDate".formatted(i)).value(Matchers.startsWith(postComment.getModifyDate().toString().substring(0, 20))))
-                    .andExpect(jsonPath("$[%d].content".formatted(i)).value(postComment.getContent()));
+                    .andExpect(jsonPath("$.items[%d].id".formatted(i)).value(postComment.getId()))
+                    .andExpect(jsonPath("$.items[%d].createdDate".formatted(i)).value(Matchers.startsWith(postComment.getCreateDate().toString().substring(0, 20))))
+                    .andExpect(jsonPath("$.items[%d].modifiedDate".formatted(i)).value(Matchers.startsWith(postComment.getModifyDate().toString().substring(0, 20))))
+                    .andExpect(jsonPath("$.items[%d].content".formatted(i)).value(postComment.getContent()));
         }
     }
 
@@ -164,5 +172,238 @@ class ApiV1PostCommentControllerTest {
                 .andExpect(jsonPath("$.data.modifiedDate").value(Matchers.startsWith(postComment.getModifyDate().toString().substring(0, 20))))
                 .andExpect(jsonPath("$.data.content").value("내용"))
         ;
+
+        assertThat(post.getCommentsCount()).isEqualTo(post.getComments().size());
+    }
+
+    @Test
+    @DisplayName("댓글 다건조회, 커서 페이징")
+    void t6() throws Exception {
+        int postId = 1;
+
+        List<PostComment> comments = postService.findCommentPage(postId, null, 2);
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(postId))
+                                .param("size", "1")
+                )
+                .andDo(print())
+                .andExpect(handler().handlerType(ApiV1PostCommentController.class))
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(comments.get(0).getId()))
+                .andExpect(jsonPath("$.nextCursor").value(comments.get(0).getId()));
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(postId))
+                                .param("after", String.valueOf(comments.get(0).getId()))
+                                .param("size", "1")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(comments.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("댓글 단건조회, 다른 글의 댓글이면 404")
+    void t7() throws Exception {
+        int postId = 2;
+        int id = 1;
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments/%d".formatted(postId, id))
+                )
+                .andDo(print())
+                .andExpect(handler().handlerType(ApiV1PostCommentController.class))
+                .andExpect(handler().methodName("getItem"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("댓글 단건조회, 다건조회, 변경이 없으면 304")
+    void t8() throws Exception {
+        int postId = 1;
+        int id = 1;
+
+        String eTag = mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments/%d".formatted(postId, id))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments/%d".formatted(postId, id))
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("getItem"))
+                .andExpect(status().isNotModified());
+
+        String itemsETag = mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(postId))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(postId))
+                                .header(HttpHeaders.IF_NONE_MATCH, itemsETag)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("댓글 일괄 작성")
+    void t9() throws Exception {
+        int postId = 1;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/posts/%d/comments/bulk".formatted(postId))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        [
+                                            { "content": "내용 1" },
+                                            { "content": "내용 2" },
+                                            { "content": "내용 3" }
+                                        ]
+                                        """)
+                )
+                .andDo(print());
+
+        Post post = postService.findById(postId).get();
+
+        PostComment postComment = post.getComments().getLast();
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostCommentController.class))
+                .andExpect(handler().methodName("bulkWrite"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.resultCode").value("201-1"))
+                .andExpect(jsonPath("$.msg").value("3건의 댓글이 작성되었습니다."))
+                .andExpect(jsonPath("$.data.ids.length()").value(3))
+                .andExpect(jsonPath("$.data.ids[2]").value(postComment.getId()));
+
+        assertThat(postComment.getContent()).isEqualTo("내용 3");
+        assertThat(post.getCommentsCount()).isEqualTo(post.getComments().size());
+    }
+
+    @Test
+    @DisplayName("댓글 일괄 수정")
+    void t10() throws Exception {
+        int postId = 1;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        patch("/api/v1/posts/%d/comments/bulk".formatted(postId))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        [
+                                            { "id": 1, "content": "내용 new 1" },
+                                            { "id": 2, "content": "내용 new 2" }
+                                        ]
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostCommentController.class))
+                .andExpect(handler().methodName("bulkModify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"))
+                .andExpect(jsonPath("$.msg").value("2건의 댓글이 수정되었습니다."))
+                .andExpect(jsonPath("$.data.ids.length()").value(2));
+
+        assertThat(postService.findCommentById(postId, 2).get().getContent()).isEqualTo("내용 new 2");
+    }
+
+    @Test
+    @DisplayName("댓글 일괄 수정, 다른 글의 댓글이 포함되면 404")
+    void t11() throws Exception {
+        int postId = 1;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        patch("/api/v1/posts/%d/comments/bulk".formatted(postId))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        [
+                                            { "id": 1, "content": "내용 new 1" },
+                                            { "id": 4, "content": "내용 new 4" }
+                                        ]
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostCommentController.class))
+                .andExpect(handler().methodName("bulkModify"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.resultCode").value("404-1"))
+                .andExpect(jsonPath("$.data[0]").value(4));
+    }
+
+    @Test
+    @DisplayName("댓글 다건조회, 요청한 필드만 응답")
+    void t12() throws Exception {
+        int postId = 1;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(postId))
+                                .param("fields", "content")
+                ).andDo(print());
+
+        List<PostComment> postComments = postService.findById(postId).get().getComments();
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostCommentController.class))
+                .andExpect(handler().methodName("getItemsWithFields"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(postComments.size()))
+                .andExpect(jsonPath("$.items[0].id").value(postComments.get(0).getId()))
+                .andExpect(jsonPath("$.items[0].content").value(postComments.get(0).getContent()))
+                .andExpect(jsonPath("$.items[0].createdDate").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("댓글 삭제, If-Match 가 현재 ETag 와 다르면 412")
+    void t13() throws Exception {
+        int postId = 1;
+        int id = 1;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        delete("/api/v1/posts/%d/comments/%d".formatted(postId, id))
+                                .header(HttpHeaders.IF_MATCH, "\"%d-0\"".formatted(id))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostCommentController.class))
+                .andExpect(handler().methodName("delete"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.resultCode").value("412-1"));
+
+        assertThat(postService.findCommentById(postId, id)).isPresent();
     }
-}
\ No newline at end of file
+}
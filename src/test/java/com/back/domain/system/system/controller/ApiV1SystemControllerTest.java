@@ -0,0 +1,63 @@
+package com.back.domain.system.system.controller;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+class ApiV1SystemControllerTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @DisplayName("2차 캐시 통계")
+    void t1() throws Exception {
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/system/secondLevelCache")
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1SystemController.class))
+                .andExpect(handler().methodName("getSecondLevelCacheStats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").isNumber())
+                .andExpect(jsonPath("$.missCount").isNumber())
+                .andExpect(jsonPath("$.regions[*].name").value(Matchers.hasItems(
+                        "com.back.domain.post.post.entity.Post",
+                        "com.back.domain.post.post.entity.Post.comments",
+                        "com.back.domain.post.postComment.entity.PostComment"
+                )));
+    }
+
+    @Test
+    @DisplayName("글 검색 색인 통계")
+    void t2() throws Exception {
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/system/postSearchIndex")
+                ).andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1SystemController.class))
+                .andExpect(handler().methodName("getPostSearchIndexStats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documentCount").value(Matchers.greaterThan(0)))
+                .andExpect(jsonPath("$.termCount").value(Matchers.greaterThan(0)))
+                .andExpect(jsonPath("$.estimatedBytes").value(Matchers.greaterThan(0)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.back.global.dataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionLimitingDataSourceTest {
+    private final ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:connection_limit_test", "sa", ""),
+            1,
+            Duration.ofMillis(50)
+    );
+
+    @Test
+    @DisplayName("허용 수만큼 빌려간 상태면 대기 시간 후 실패, 반납하면 다시 빌릴 수 있음")
+    void t1() throws Exception {
+        Connection connection = dataSource.getConnection();
+
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        connection.close();
+        connection.close(); // 두 번 닫아도 허가는 한 번만 반납
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        try (Connection reacquired = dataSource.getConnection()) {
+            assertThat(reacquired.isValid(1)).isTrue();
+        }
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.back.global.dataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 복제 DB 대신 별도의 H2 메모리 DB 를 두고, 각 DB 에 자기 이름을 넣어서 어느 쪽으로 라우팅되었는지 확인
+class ReplicaRoutingDataSourceTest {
+    private final DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+            named("primary"),
+            named("replica")
+    ));
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+    @AfterEach
+    void clear() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제 DB, 나머지는 주 DB")
+    void t1() {
+        assertThat(currentDb(true)).isEqualTo("replica");
+        assertThat(currentDb(false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("주 DB 에서 읽도록 강제된 요청은 읽기 전용 트랜잭션도 주 DB")
+    void t2() {
+        ReplicaRoutingContext.forcePrimary();
+
+        assertThat(currentDb(true)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션 이후의 읽기 전용 트랜잭션은 주 DB, 쓰기 기록은 한 번만 꺼내진다")
+    void t3() {
+        assertThat(currentDb(false)).isEqualTo("primary");
+        assertThat(currentDb(true)).isEqualTo("primary");
+
+        assertThat(ReplicaRoutingContext.consumeWritten()).isTrue();
+        assertThat(ReplicaRoutingContext.consumeWritten()).isFalse();
+    }
+
+    private String currentDb(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from db_name", String.class));
+    }
+
+    private static DataSource named(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:replica_routing_test_%s;DB_CLOSE_DELAY=-1".formatted(name), "sa", "");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists db_name (name varchar(20))");
+        jdbcTemplate.update("delete from db_name");
+        jdbcTemplate.update("insert into db_name (name) values (?)", name);
+
+        return dataSource;
+    }
+}
@@ -0,0 +1,44 @@
+package com.back.global.jpa.sequence;
+
+import com.back.global.shard.ShardedSequenceIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 시퀀스를 직접 옮기므로 다른 테스트와 섞이지 않도록 별도의 메모리 DB 를 사용
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:db_id_sequence_test;MODE=MySQL")
+@ActiveProfiles("test")
+class IdSequenceAlignerTest {
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("시퀀스보다 큰 id 가 이미 있으면(IDENTITY 시절의 데이터) 시퀀스를 그 뒤로 옮기고, 다시 실행하면 그대로 둔다")
+    void t1() {
+        int existingId = 1_000;
+
+        jdbcTemplate.update(
+                "insert into post (id, title, content, create_date, modify_date, version) values (?, '제목', '내용', now(), now(), 0)",
+                existingId
+        );
+
+        try {
+            assertThat(idSequenceAligner.align()).isEqualTo(1);
+
+            // pooled 방식이라 시퀀스 값 v 로 (v - 50, v] 의 id 를 쓴다
+            long nextValue = jdbcTemplate.queryForObject("select next value for post_seq", Long.class);
+            assertThat(nextValue - ShardedSequenceIdGenerator.INCREMENT_SIZE).isGreaterThanOrEqualTo(existingId);
+
+            assertThat(idSequenceAligner.align()).isZero();
+        } finally {
+            jdbcTemplate.update("delete from post where id = ?", existingId);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.back.global.observation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+class HandlerServerRequestObservationConventionTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("같은 uri 라도 요청을 처리한 컨트롤러 메서드별로 http.server.requests 가 기록된다")
+    void t1() throws Exception {
+        mvc.perform(get("/api/v1/posts")).andExpect(status().isOk());
+        mvc.perform(get("/api/v1/posts").param("fields", "title")).andExpect(status().isOk());
+
+        assertThat(
+                meterRegistry
+                        .get("http.server.requests")
+                        .tag("uri", "/api/v1/posts")
+                        .tag("handler", "ApiV1PostController#getItems")
+                        .timer()
+                        .count()
+        ).isGreaterThanOrEqualTo(1);
+
+        assertThat(
+                meterRegistry
+                        .get("http.server.requests")
+                        .tag("uri", "/api/v1/posts")
+                        .tag("handler", "ApiV1PostController#getItemsWithFields")
+                        .timer()
+                        .count()
+        ).isGreaterThanOrEqualTo(1);
+    }
+}
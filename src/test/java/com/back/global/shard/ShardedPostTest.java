@@ -0,0 +1,259 @@
+package com.back.global.shard;
+
+import com.back.domain.post.post.service.PostService;
+import com.back.global.sqlStats.SqlStats;
+import com.back.global.sqlStats.SqlStatsFilter;
+import com.back.global.sqlStats.SqlStatsResponseBodyAdvice;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 두 개의 H2 메모리 DB 를 샤드로 두고, JdbcTemplate 으로 각 샤드를 직접 조회해서 어디에 저장되었는지 확인
+// 샤드별 트랜잭션이 따로 커밋되므로 테스트 트랜잭션으로 되돌릴 수 없어서 별도의 DB 를 사용
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:db_shard_test_0;MODE=MySQL",
+        "custom.shard.count=2",
+        "custom.shard.datasources[0].url=jdbc:h2:mem:db_shard_test_1;MODE=MySQL",
+        "custom.shard.datasources[0].username=sa",
+        "custom.shard.datasources[0].driver-class-name=org.h2.Driver"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ShardedPostTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private Shards shards;
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    @Qualifier("shardDataCheck")
+    private SmartInitializingSingleton shardDataCheck;
+
+    @Test
+    @DisplayName("새 글은 샤드를 돌아가며 저장되고, id 를 샤드 수로 나눈 나머지가 저장된 샤드다")
+    void t1() throws Exception {
+        List<Integer> ids = IntStream
+                .range(0, 4)
+                .mapToObj(i -> writePost("제목 " + i))
+                .toList();
+
+        assertThat(ids.stream().map(shards::shardOf).toList()).containsExactlyInAnyOrder(0, 1, 0, 1);
+
+        for (int id : ids) {
+            int shard = shards.shardOf(id);
+
+            assertThat(countOnShard(shard, "post", id)).isEqualTo(1);
+            assertThat(countOnShard(1 - shard, "post", id)).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("댓글은 글과 같은 샤드에 저장되고, 댓글 id 도 같은 샤드를 가리킨다")
+    void t2() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            int postId = writePost("제목");
+            int shard = shards.shardOf(postId);
+
+            String response = mvc
+                    .perform(
+                            post("/api/v1/posts/%d/comments".formatted(postId))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("""
+                                            {
+                                                "content": "내용"
+                                            }
+                                            """)
+                    )
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(StandardCharsets.UTF_8);
+
+            int commentId = JsonPath.read(response, "$.data.id");
+
+            assertThat(shards.shardOf(commentId)).isEqualTo(shard);
+            assertThat(countOnShard(shard, "post_comment", commentId)).isEqualTo(1);
+            assertThat(countOnShard(1 - shard, "post_comment", commentId)).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("목록과 글 수는 모든 샤드에서 모은다")
+    void t3() throws Exception {
+        writePost("제목 1");
+        writePost("제목 2");
+
+        List<Integer> expectedIds = Stream
+                .of(0, 1)
+                .flatMap(shard -> ShardContext.call(shard, () -> jdbcTemplate.queryForList("select id from post", Integer.class)).stream())
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        String response = mvc
+                .perform(get("/api/v1/posts").param("size", "100"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        List<Integer> ids = JsonPath.read(response, "$.items[*].id");
+
+        assertThat(ids).isEqualTo(expectedIds);
+        assertThat(postService.count()).isEqualTo(expectedIds.size());
+
+        // 다음 페이지도 두 샤드에서 이어진다.
+        List<Integer> nextIds = JsonPath.read(
+                mvc
+                        .perform(get("/api/v1/posts").param("size", "1").param("after", String.valueOf(expectedIds.getFirst())))
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString(StandardCharsets.UTF_8),
+                "$.items[*].id"
+        );
+
+        assertThat(nextIds).containsExactly(expectedIds.get(1));
+    }
+
+    @Test
+    @DisplayName("1번 샤드의 글도 id 로 조회, 수정, 삭제된다")
+    void t4() throws Exception {
+        int id = IntStream
+                .range(0, 2)
+                .mapToObj(i -> writePost("제목"))
+                .filter(postId -> shards.shardOf(postId) == 1)
+                .findFirst()
+                .orElseThrow();
+
+        mvc.perform(get("/api/v1/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.title").value("제목"));
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/" + id)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"));
+
+        assertThat(ShardContext.call(1, () -> jdbcTemplate.queryForObject("select title from post where id = ?", String.class, id)))
+                .isEqualTo("제목 new");
+
+        mvc.perform(delete("/api/v1/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"));
+
+        assertThat(countOnShard(1, "post", id)).isEqualTo(0);
+
+        mvc.perform(get("/api/v1/posts/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("0번 샤드에 다른 샤드를 가리키는 id 가 있으면(샤딩 전의 데이터) 기동 검사가 실패한다")
+    void t5() {
+        int id = 1_000_001;
+
+        jdbcTemplate.update(
+                "insert into post (id, title, content, create_date, modify_date, version) values (?, '제목', '내용', now(), now(), 0)",
+                id
+        );
+
+        try {
+            assertThatThrownBy(shardDataCheck::afterSingletonsInstantiated)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("0번 샤드의 post");
+        } finally {
+            jdbcTemplate.update("delete from post where id = ?", id);
+        }
+
+        shardDataCheck.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("샤드마다 따로 실행된 SELECT 도 요청의 SQL 문 수(X-Sql-Count)와 N+1 검사에 잡힌다")
+    void t6() throws Exception {
+        writePost("제목 1");
+        writePost("제목 2");
+
+        MvcResult result = mvc
+                .perform(get("/api/v1/posts").param("fields", "title").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(Integer.parseInt(result.getResponse().getHeader(SqlStatsResponseBodyAdvice.COUNT_HEADER)))
+                .isGreaterThanOrEqualTo(shards.count());
+
+        // 같은 SELECT 가 샤드 수만큼 실행되었다
+        SqlStats sqlStats = (SqlStats) result.getRequest().getAttribute(SqlStatsFilter.ATTRIBUTE_NAME);
+
+        assertThat(sqlStats.findRepeatedSelects(shards.count())).isNotEmpty();
+    }
+
+    private int writePost(String title) {
+        try {
+            String response = mvc
+                    .perform(
+                            post("/api/v1/posts")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("""
+                                            {
+                                                "title": "%s",
+                                                "content": "내용"
+                                            }
+                                            """.formatted(title))
+                    )
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(StandardCharsets.UTF_8);
+
+            return JsonPath.read(response, "$.data.post.id");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private int countOnShard(int shard, String table, int id) {
+        return ShardContext.call(shard, () -> jdbcTemplate.queryForObject(
+                "select count(*) from %s where id = ?".formatted(table),
+                Integer.class,
+                id
+        ));
+    }
+}
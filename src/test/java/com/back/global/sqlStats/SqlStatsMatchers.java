@@ -0,0 +1,35 @@
+package com.back.global.sqlStats;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MockMvc 요청 하나에서 실행된 SQL 을 검증한다, SqlStatsFilter 가 요청 속성에 남긴 SqlStats 를 사용
+public class SqlStatsMatchers {
+    private SqlStatsMatchers() {
+    }
+
+    public static ResultMatcher maxSqlCount(int max) {
+        return result -> assertThat(sqlStats(result).getStatementCount())
+                .as("실행된 SQL 문 수")
+                .isLessThanOrEqualTo(max);
+    }
+
+    // 같은 SELECT 가 두 번 이상 실행되지 않아야 한다
+    public static ResultMatcher noRepeatedSelect() {
+        return result -> assertThat(sqlStats(result).findRepeatedSelects(2))
+                .as("반복 실행된 SELECT")
+                .isEmpty();
+    }
+
+    private static SqlStats sqlStats(MvcResult result) {
+        SqlStats sqlStats = (SqlStats) result.getRequest().getAttribute(SqlStatsFilter.ATTRIBUTE_NAME);
+
+        assertThat(sqlStats)
+                .as("SqlStatsFilter 가 등록되어 있어야 합니다. (custom.sql-stats.enabled)")
+                .isNotNull();
+
+        return sqlStats;
+    }
+}
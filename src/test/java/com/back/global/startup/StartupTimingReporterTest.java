@@ -0,0 +1,30 @@
+package com.back.global.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupTimingReporterTest {
+    @Test
+    @DisplayName("오래 걸린 시작 단계부터 태그와 함께 상위 top 건")
+    void t1() throws Exception {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+
+        applicationStartup.start("spring.beans.instantiate").tag("beanName", "fastBean").end();
+
+        StartupStep slow = applicationStartup.start("spring.beans.instantiate");
+        slow.tag("beanName", "slowBean");
+        Thread.sleep(20);
+        slow.end();
+
+        List<String> steps = StartupTimingReporter.slowestSteps(applicationStartup.getBufferedTimeline(), 1);
+
+        assertThat(steps).hasSize(1);
+        assertThat(steps.getFirst()).endsWith("spring.beans.instantiate [beanName=slowBean]");
+    }
+}